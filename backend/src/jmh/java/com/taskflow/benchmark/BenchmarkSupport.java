@@ -0,0 +1,72 @@
+package com.taskflow.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.taskflow.entity.Department;
+import com.taskflow.entity.Priority;
+import com.taskflow.entity.Task;
+import com.taskflow.entity.TaskStatus;
+import com.taskflow.entity.User;
+import com.taskflow.entity.UserRole;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades comunes para los benchmarks JMH.
+ */
+final class BenchmarkSupport {
+
+    static final String JWT_SECRET = "benchmark-secret-key-with-at-least-32-bytes!!";
+    static final long JWT_EXPIRATION = 86_400_000L;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Fuera de Spring Boot logback arranca en DEBUG; se silencia para no medir I/O de consola.
+     */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    /**
+     * Tareas con departamento, solicitante y asignado ya cargados (sin proxies), repartidas
+     * entre 10 departamentos y 50 usuarios; siempre las mismas para poder comparar ejecuciones.
+     */
+    static List<Task> sampleTasks(int count) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 9, 0);
+        List<Department> departments = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            departments.add(Department.builder().id(i).name("Departamento " + i)
+                    .description("Descripción del departamento " + i).createdAt(now).build());
+        }
+        List<User> users = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            users.add(User.builder().id(i).email("user" + i + "@taskflow.com").firstName("Nombre" + i)
+                    .lastName("Apellido" + i).role(UserRole.EMPLOYEE)
+                    .department(departments.get((int) (i % departments.size()))).build());
+        }
+
+        TaskStatus[] statuses = TaskStatus.values();
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i + 1)
+                    .title("Tarea " + i)
+                    .description("Descripción de la tarea " + i + " con algo de texto para el cuerpo JSON")
+                    .status(statuses[i % statuses.length])
+                    .priority(priorities[i % priorities.length])
+                    .department(departments.get(i % departments.size()))
+                    .requester(users.get(i % users.size()))
+                    .assignee(i % 4 == 0 ? null : users.get((i * 7) % users.size()))
+                    .createdAt(now.plusMinutes(i))
+                    .updatedAt(now.plusMinutes(i + 30))
+                    .build());
+        }
+        return tasks;
+    }
+}
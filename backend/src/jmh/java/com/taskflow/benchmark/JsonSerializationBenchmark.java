@@ -0,0 +1,84 @@
+package com.taskflow.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.config.JacksonConfig;
+import com.taskflow.dto.DepartmentResponse;
+import com.taskflow.dto.TaskResponse;
+import com.taskflow.entity.Task;
+import com.taskflow.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de listas de TaskResponse y DepartmentResponse.
+ * hibernate6 usa el ObjectMapper de JacksonConfig (con Hibernate6Module); plain el mismo builder sin el módulo.
+ * Salida a byte[] como hace el conversor HTTP; tamaño de la lista en "size".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"hibernate6", "plain"})
+    private String mapper;
+
+    @Param({"100", "5000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponse> tasks;
+    private List<DepartmentResponse> departments;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        objectMapper = "hibernate6".equals(mapper)
+                ? new JacksonConfig().jackson2ObjectMapperBuilder().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+
+        List<Task> entities = BenchmarkSupport.sampleTasks(size);
+        tasks = entities.stream().map(TaskResponse::fromEntity).toList();
+
+        // Un departamento por cada 10 tareas, con los solicitantes como miembros
+        Map<Long, DepartmentResponse> byId = new LinkedHashMap<>();
+        for (Task task : entities) {
+            User member = task.getRequester();
+            DepartmentResponse department = byId.computeIfAbsent(task.getId() / 10, id -> DepartmentResponse.builder()
+                    .id(id)
+                    .name(task.getDepartment().getName() + " " + id)
+                    .description(task.getDepartment().getDescription())
+                    .createdAt(task.getCreatedAt())
+                    .users(new ArrayList<>())
+                    .build());
+            department.getUsers().add(DepartmentResponse.UserSummary.builder()
+                    .id(member.getId())
+                    .firstName(member.getFirstName())
+                    .lastName(member.getLastName())
+                    .email(member.getEmail())
+                    .role(member.getRole().name())
+                    .build());
+        }
+        byId.values().forEach(d -> d.setUsersCount(d.getUsers().size()));
+        departments = new ArrayList<>(byId.values());
+    }
+
+    @Benchmark
+    public byte[] tasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] departments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(departments);
+    }
+}
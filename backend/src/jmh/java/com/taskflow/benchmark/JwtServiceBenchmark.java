@@ -0,0 +1,109 @@
+package com.taskflow.benchmark;
+
+import com.taskflow.entity.User;
+import com.taskflow.entity.UserRole;
+import com.taskflow.security.AuthenticatedUser;
+import com.taskflow.security.jwt.JwtService;
+import com.taskflow.security.jwt.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de CPU por request de la validación JWT.
+ * legacyPerRequest reproduce el flujo anterior (tres parseos con clave y parser nuevos);
+ * parseOnce usa el parser cacheado sin caché de tokens; cachedToken es el camino habitual.
+ * generateToken, extractUsername e isTokenValid miden los métodos públicos tal como los usan login y filtro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private String token;
+    private User user;
+    private AuthenticatedUser principal;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        cachedService = newService(10_000);
+        uncachedService = newService(0);
+
+        user = User.builder()
+                .id(42L)
+                .email("employee@taskflow.com")
+                .role(UserRole.EMPLOYEE)
+                .securityVersion(3L)
+                .build();
+        token = cachedService.generateToken(user);
+        principal = new AuthenticatedUser(42L, "employee@taskflow.com", UserRole.EMPLOYEE, true, 3L);
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        // extractUsername + isTokenValid (username y expiración), cada uno con su propio parseo
+        String username = legacyParse(token).getSubject();
+        boolean matches = legacyParse(token).getSubject().equals(username);
+        boolean notExpired = !legacyParse(token).getExpiration().before(new Date());
+        return matches && notExpired;
+    }
+
+    @Benchmark
+    public VerifiedToken parseOnce() {
+        return uncachedService.validateToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedToken() {
+        return cachedService.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return cachedService.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncachedService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return cachedService.isTokenValid(token, principal);
+    }
+
+    private static Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(BenchmarkSupport.JWT_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    private static JwtService newService(long tokenCacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", BenchmarkSupport.JWT_SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", BenchmarkSupport.JWT_EXPIRATION);
+        ReflectionTestUtils.setField(service, "tokenCacheMaxSize", tokenCacheSize);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskflow.benchmark;
+
+import com.taskflow.security.PasswordVerifier;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins por segundo y por núcleo según el coste de BCrypt (un hilo de benchmark = un núcleo).
+ * matches es solo la comparación del hash; verifier incluye el paso por el pool de
+ * PasswordVerifier (un hilo), que es lo que añade un login real además de la búsqueda del usuario.
+ * Sirve para elegir app.security.bcrypt-strength: cada punto de coste duplica el tiempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(1)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "pw123456";
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private PasswordEncoder encoder;
+    private PasswordVerifier verifier;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        hash = encoder.encode(PASSWORD);
+        verifier = new PasswordVerifier(encoder, 1, 1, Duration.ofSeconds(30));
+    }
+
+    @TearDown
+    public void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return verifier.verify(PASSWORD, hash).matches();
+    }
+}
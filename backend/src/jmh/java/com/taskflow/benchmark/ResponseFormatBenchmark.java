@@ -0,0 +1,74 @@
+package com.taskflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.taskflow.config.JacksonConfig;
+import com.taskflow.dto.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste de CPU y bytes en la red de GET /api/tasks según el formato negociado (Accept)
+ * y con o sin gzip (Accept-Encoding). Los mappers se configuran igual que en JacksonConfig.
+ * Los bytes de cada combinación se imprimen al final de cada trial ("wire bytes").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponse> tasks;
+    private int wireBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkSupport.quietLogging();
+        Jackson2ObjectMapperBuilder builder = new JacksonConfig().jackson2ObjectMapperBuilder();
+        objectMapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        builder.configure(objectMapper);
+        tasks = BenchmarkSupport.sampleTasks(size).stream().map(TaskResponse::fromEntity).toList();
+        wireBytes = serialize().length;
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%nwire bytes: format=%s gzip=%s size=%d -> %d%n", format, gzip, size, wireBytes);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(bytes, 8 * 1024)) {
+                objectMapper.writeValue(out, tasks);
+            }
+        } else {
+            objectMapper.writeValue(bytes, tasks);
+        }
+        return bytes.toByteArray();
+    }
+}
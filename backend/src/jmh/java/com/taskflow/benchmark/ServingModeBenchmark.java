@@ -0,0 +1,127 @@
+package com.taskflow.benchmark;
+
+import com.taskflow.config.AdmissionControlDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modelo del servidor: ráfagas de requests concurrentes contra un pool Hikari de 10 conexiones.
+ * platform = pool fijo de 200 hilos (máximo por defecto de Tomcat); virtual = un hilo virtual
+ * por request, con o sin AdmissionControlDataSource delante del pool.
+ * dbShare es el porcentaje de requests que usan la BD (el resto se sirve desde memoria, como /active).
+ * La consulta es H2 en memoria más una espera fija que simula la latencia de red hasta PostgreSQL.
+ * Throughput en requests/s; p50/p99 por request (desde el envío) se imprimen al final de cada iteración.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ServingModeBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 2000;
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long DB_LATENCY_MILLIS = 2;
+
+    @Param({"platform", "virtual", "virtual-admission"})
+    private String mode;
+
+    @Param({"100", "50"})
+    private int dbShare;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+    private final List<long[]> iterationLatencies = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        BenchmarkSupport.quietLogging();
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:serving;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(30_000);
+        pool = new HikariDataSource(config);
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS tasks (id BIGINT PRIMARY KEY, title VARCHAR(100))");
+            statement.execute("MERGE INTO tasks KEY (id) SELECT x, 'Task ' || x FROM SYSTEM_RANGE(1, 1000)");
+        }
+
+        dataSource = "virtual-admission".equals(mode)
+                ? new AdmissionControlDataSource(pool, POOL_SIZE, Duration.ofSeconds(30))
+                : pool;
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(PLATFORM_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void burst() {
+        long[] latencies = new long[CONCURRENT_REQUESTS];
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            requests[i] = CompletableFuture.runAsync(() -> {
+                handle();
+                latencies[index] = System.nanoTime() - submitted;
+            }, executor);
+        }
+        CompletableFuture.allOf(requests).join();
+        iterationLatencies.add(latencies);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPercentiles() {
+        long[] all = iterationLatencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        iterationLatencies.clear();
+        if (all.length > 0) {
+            System.out.printf("  [%s dbShare=%d] requests=%d p50=%.2f ms p99=%.2f ms%n", mode, dbShare, all.length,
+                    all[(int) (all.length * 0.50)] / 1e6, all[(int) (all.length * 0.99)] / 1e6);
+        }
+    }
+
+    private void handle() {
+        if (ThreadLocalRandom.current().nextInt(100) >= dbShare) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT title FROM tasks WHERE id = ?")) {
+            statement.setLong(1, ThreadLocalRandom.current().nextLong(1, 1001));
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+            }
+            Thread.sleep(DB_LATENCY_MILLIS);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
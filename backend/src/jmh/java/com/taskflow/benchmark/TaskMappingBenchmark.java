@@ -0,0 +1,47 @@
+package com.taskflow.benchmark;
+
+import com.taskflow.dto.TaskResponse;
+import com.taskflow.entity.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de listas de Task a TaskResponse (TaskResponse.fromEntity), con asociaciones ya cargadas.
+ * Mide solo el mapeo en memoria; las consultas de proyección de TaskRepository se lo ahorran.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        tasks = BenchmarkSupport.sampleTasks(size);
+    }
+
+    @Benchmark
+    public List<TaskResponse> stream() {
+        return tasks.stream().map(TaskResponse::fromEntity).toList();
+    }
+
+    @Benchmark
+    public List<TaskResponse> loop() {
+        List<TaskResponse> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(TaskResponse.fromEntity(task));
+        }
+        return result;
+    }
+}
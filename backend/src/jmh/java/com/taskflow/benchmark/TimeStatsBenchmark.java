@@ -0,0 +1,89 @@
+package com.taskflow.benchmark;
+
+import com.taskflow.dto.DailyTime;
+import com.taskflow.dto.TimeStats;
+import com.taskflow.entity.TimeLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregación de /api/time-logs/my-stats para un usuario con logsPerDay registros al día durante un mes.
+ * timeLogs reproduce el cálculo anterior (tres listas de TimeLog: hoy, semana y mes, sumadas con streams);
+ * dailyTotals es TimeStats.summarize sobre los totales diarios que devuelve time_rollups.
+ * No incluye las consultas; con rollups se leen como mucho ~37 filas en lugar de todos los registros del mes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeStatsBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 31);
+
+    @Param({"8", "40"})
+    private int logsPerDay;
+
+    private List<TimeLog> todayLogs;
+    private List<TimeLog> weekLogs;
+    private List<TimeLog> monthLogs;
+    private List<DailyTime> days;
+    private long totalMinutes;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.quietLogging();
+        LocalDate from = TimeStats.rangeStart(TODAY);
+        LocalDate startOfWeek = TODAY.minusDays(TODAY.getDayOfWeek().getValue() - 1);
+        List<TimeLog> logs = new ArrayList<>();
+        days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(TODAY); day = day.plusDays(1)) {
+            long dayMinutes = 0;
+            for (int i = 0; i < logsPerDay; i++) {
+                long minutes = 5 + (i * 13L) % 50;
+                LocalDateTime start = day.atTime(8, 0).plusMinutes(i * 12L);
+                logs.add(TimeLog.builder().id((long) logs.size() + 1).startTime(start)
+                        .endTime(start.plusMinutes(minutes)).durationMinutes(minutes).build());
+                dayMinutes += minutes;
+            }
+            days.add(new DailyTime(day, dayMinutes, (long) logsPerDay));
+            totalMinutes += dayMinutes;
+        }
+        todayLogs = between(logs, TODAY.atStartOfDay(), TODAY.atTime(LocalTime.MAX));
+        weekLogs = between(logs, startOfWeek.atStartOfDay(), TODAY.atTime(LocalTime.MAX));
+        monthLogs = between(logs, TODAY.withDayOfMonth(1).atStartOfDay(), TODAY.atTime(LocalTime.MAX));
+    }
+
+    @Benchmark
+    public TimeStats timeLogs() {
+        long todayMinutes = sum(todayLogs);
+        long weekMinutes = sum(weekLogs);
+        long monthMinutes = sum(monthLogs);
+        return new TimeStats(totalMinutes / 60.0, Math.round(todayMinutes / 6.0) / 10.0,
+                Math.round(weekMinutes / 6.0) / 10.0, Math.round(monthMinutes / 6.0) / 10.0, todayLogs.size());
+    }
+
+    @Benchmark
+    public TimeStats dailyTotals() {
+        return TimeStats.summarize(totalMinutes, days, TODAY, false);
+    }
+
+    private static long sum(List<TimeLog> logs) {
+        return logs.stream()
+                .mapToLong(log -> log.getDurationMinutes() != null ? log.getDurationMinutes() : 0)
+                .sum();
+    }
+
+    private static List<TimeLog> between(List<TimeLog> logs, LocalDateTime from, LocalDateTime to) {
+        return logs.stream()
+                .filter(log -> !log.getStartTime().isBefore(from) && !log.getStartTime().isAfter(to))
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.taskflow.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias (HdrHistogram, en microsegundos) y errores de un endpoint.
+ * Es error cualquier status >= 400 o una excepción de red; se cuentan por status.
+ */
+class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+    void record(long elapsedNanos, String errorStatus) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_LATENCY_MICROS));
+        if (errorStatus != null) {
+            errors.increment();
+            errorsByStatus.computeIfAbsent(errorStatus, status -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Resumen para el informe: throughput sobre la duración medida y percentiles en milisegundos.
+     */
+    Map<String, Object> summary(double seconds) {
+        long requests = latencies.getTotalCount();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("throughput", round(requests / seconds));
+        summary.put("errors", errors.sum());
+        summary.put("errorRate", requests > 0 ? round(100.0 * errors.sum() / requests) : 0.0);
+        summary.put("p50", millis(latencies.getValueAtPercentile(50)));
+        summary.put("p95", millis(latencies.getValueAtPercentile(95)));
+        summary.put("p99", millis(latencies.getValueAtPercentile(99)));
+        summary.put("max", millis(latencies.getMaxValue()));
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        errorsByStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+        summary.put("errorsByStatus", byStatus);
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,307 @@
+package com.taskflow.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.TaskFlowApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prueba de carga de extremo a extremo: arranca la aplicación en este mismo proceso (puerto aleatorio,
+ * BD Postgres local de loadtest.db-url; el esquema usa SQL de PostgreSQL, así que no hay sustituto embebido),
+ * crea los datos con {@link LoadTestSeeder} y lanza usuarios virtuales (un hilo virtual cada uno):
+ * <ul>
+ *     <li>tormenta de logins contra /api/auth/login,</li>
+ *     <li>empleados que consultan /time-logs/active y /tasks/my-tasks,</li>
+ *     <li>empleados que inician y detienen sesiones de tiempo,</li>
+ *     <li>administradores que abren /api/reports.</li>
+ * </ul>
+ * Al final imprime throughput, p50/p95/p99 y tasa de errores por endpoint, los guarda en JSON
+ * y borra los datos de prueba.
+ * Ejecutar: mvn -Ploadtest test-compile exec:exec -Dloadtest.db-url=jdbc:postgresql://localhost:5432/taskflow_loadtest [-Dloadtest.duration=120 ...]
+ */
+public final class LoadTest {
+
+    private static final String[] DEFAULT_APP_ARGS = {
+            "--server.port=0",
+            "--management.server.port=0",
+            "--logging.level.root=WARN",
+            "--logging.level.com.taskflow=WARN",
+            "--app.access-log.enabled=false"
+    };
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final Map<String, List<Long>> tasksByEmail;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http;
+
+    private volatile Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    private LoadTest(LoadTestConfig config, String baseUrl, Map<String, List<Long>> tasksByEmail, ExecutorService executor) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.tasksByEmail = tasksByEmail;
+        this.http = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Sin .env: la BD es siempre la de loadtest.db-url (validada como local)
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        ConfigurableApplicationContext app = SpringApplication.run(TaskFlowApplication.class, appArgs(config, args));
+        LoadTestSeeder seeder = new LoadTestSeeder(app.getBean(JdbcTemplate.class), config);
+        try {
+            // Al cerrar el executor se espera a que paren los usuarios virtuales, antes de borrar sus datos
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                String passwordHash = app.getBean(PasswordEncoder.class).encode(LoadTestConfig.PASSWORD);
+                Map<String, List<Long>> tasksByEmail = seeder.seed(passwordHash);
+                String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+                new LoadTest(config, baseUrl, tasksByEmail, executor).run(executor);
+            }
+        } finally {
+            try {
+                seeder.cleanup();
+            } finally {
+                System.exit(SpringApplication.exit(app));
+            }
+        }
+    }
+
+    /**
+     * La BD sale de la configuración; el resto de argumentos propios sustituyen a los valores por defecto.
+     * Si no se indica --jwt.secret se genera uno para esta ejecución.
+     */
+    private static String[] appArgs(LoadTestConfig config, String[] args) {
+        List<String> result = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--spring.datasource.")) {
+                result.add(arg);
+            }
+        }
+        result.add("--spring.datasource.url=" + config.dbUrl());
+        result.add("--spring.datasource.username=" + config.dbUsername());
+        result.add("--spring.datasource.password=" + config.dbPassword());
+
+        List<String> defaults = new ArrayList<>(Arrays.asList(DEFAULT_APP_ARGS));
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        defaults.add("--jwt.secret=" + HexFormat.of().formatHex(secret));
+        for (String defaultArg : defaults) {
+            String key = defaultArg.substring(0, defaultArg.indexOf('=') + 1);
+            if (result.stream().noneMatch(arg -> arg.startsWith(key))) {
+                result.add(defaultArg);
+            }
+        }
+        return result.toArray(String[]::new);
+    }
+
+    private void run(ExecutorService executor) throws InterruptedException, IOException {
+        // Los primeros empleados inician y detienen sesiones; los siguientes solo consultan
+        for (int i = 0; i < config.timers(); i++) {
+            String email = employee(i);
+            Random random = new Random(config.seed() + i);
+            executor.submit(() -> timer(email, random));
+        }
+        for (int i = 0; i < config.pollers(); i++) {
+            String email = employee(config.timers() + i);
+            Random random = new Random(config.seed() + config.timers() + i);
+            executor.submit(() -> poller(email, random));
+        }
+        for (int i = 0; i < config.loginUsers(); i++) {
+            Random random = new Random(config.seed() - i - 1);
+            executor.submit(() -> loginStorm(random));
+        }
+        for (int i = 0; i < config.admins(); i++) {
+            Random random = new Random(config.seed() * 31 + i);
+            executor.submit(() -> admin(random));
+        }
+
+        System.out.printf("Calentamiento %d s, medición %d s contra %s%n",
+                config.warmupSeconds(), config.durationSeconds(), baseUrl);
+        Map<String, EndpointStats> measured;
+        double seconds;
+        try {
+            Thread.sleep(config.warmupSeconds() * 1000L);
+            stats = new ConcurrentHashMap<>();
+            long started = System.nanoTime();
+            Thread.sleep(config.durationSeconds() * 1000L);
+            measured = stats;
+            seconds = (System.nanoTime() - started) / 1e9;
+        } finally {
+            running = false;
+        }
+
+        report(measured, seconds);
+    }
+
+    // ---------- Escenarios ----------
+
+    private void loginStorm(Random random) {
+        while (running) {
+            login(employee(random.nextInt(config.employees())), LoadTestConfig.PASSWORD);
+        }
+    }
+
+    private void poller(String email, Random random) {
+        String token = login(email, LoadTestConfig.PASSWORD);
+        while (running) {
+            pause(random, config.pollIntervalMillis());
+            if (token == null || isUnauthorized(get("/api/time-logs/active", token))) {
+                token = login(email, LoadTestConfig.PASSWORD);
+                continue;
+            }
+            get("/api/tasks/my-tasks", token);
+        }
+    }
+
+    private void timer(String email, Random random) {
+        List<Long> tasks = tasksByEmail.getOrDefault(email, List.of());
+        String token = login(email, LoadTestConfig.PASSWORD);
+        while (running && !tasks.isEmpty()) {
+            if (token == null) {
+                pause(random, config.sessionMillis());
+                token = login(email, LoadTestConfig.PASSWORD);
+                continue;
+            }
+            Long taskId = tasks.get(random.nextInt(tasks.size()));
+            post("/api/time-logs/start/" + taskId, "/api/time-logs/start/{taskId}", token);
+            pause(random, config.sessionMillis());
+            post("/api/time-logs/stop", "/api/time-logs/stop", token);
+            pause(random, config.sessionMillis() / 2);
+        }
+    }
+
+    private void admin(Random random) {
+        String token = login(LoadTestConfig.ADMIN_EMAIL, LoadTestConfig.ADMIN_PASSWORD);
+        while (running && token != null) {
+            get("/api/reports", token);
+            pause(random, config.reportIntervalMillis());
+        }
+    }
+
+    // ---------- HTTP ----------
+
+    private String login(String email, String password) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        HttpResponse<String> response = send("POST /api/auth/login", request("/api/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("token").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpResponse<String> get(String path, String token) {
+        return send("GET " + path, request(path, token).GET().build());
+    }
+
+    private HttpResponse<String> post(String path, String endpoint, String token) {
+        return send("POST " + endpoint, request(path, token).POST(HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            record(endpoint, System.nanoTime() - started,
+                    response.statusCode() >= 400 ? String.valueOf(response.statusCode()) : null);
+            return response;
+        } catch (IOException e) {
+            record(endpoint, System.nanoTime() - started, e.getClass().getSimpleName());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void record(String endpoint, long elapsedNanos, String errorStatus) {
+        if (running) {
+            stats.computeIfAbsent(endpoint, key -> new EndpointStats()).record(elapsedNanos, errorStatus);
+        }
+    }
+
+    private static boolean isUnauthorized(HttpResponse<String> response) {
+        return response != null && (response.statusCode() == 401 || response.statusCode() == 403);
+    }
+
+    private String employee(int index) {
+        return String.format(LoadTestSeeder.EMAIL_PATTERN, index + 1);
+    }
+
+    /**
+     * Pausa aleatoria entre el 50% y el 150% de la media.
+     */
+    private static void pause(Random random, long meanMillis) {
+        try {
+            Thread.sleep((long) (meanMillis * (0.5 + random.nextDouble())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------- Informe ----------
+
+    private void report(Map<String, EndpointStats> measured, double seconds) throws IOException {
+        Map<String, Map<String, Object>> endpoints = new TreeMap<>();
+        measured.forEach((endpoint, endpointStats) -> endpoints.put(endpoint, endpointStats.summary(seconds)));
+
+        System.out.println();
+        System.out.printf("%-40s %9s %9s %8s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Req/s", "Error %", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, summary) -> System.out.printf("%-40s %9d %9.1f %8.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, summary.get("requests"), summary.get("throughput"), summary.get("errorRate"),
+                summary.get("p50"), summary.get("p95"), summary.get("p99"), summary.get("max")));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("config", config);
+        result.put("measuredSeconds", Math.round(seconds * 100) / 100.0);
+        result.put("endpoints", endpoints);
+        File file = new File(config.reportFile());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, result);
+        System.out.println("Informe: " + file.getAbsolutePath());
+    }
+}
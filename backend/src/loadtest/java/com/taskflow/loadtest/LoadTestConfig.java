@@ -0,0 +1,93 @@
+package com.taskflow.loadtest;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Parámetros de la prueba de carga (propiedades de sistema "loadtest.*", ver el perfil loadtest del pom).
+ * La BD se indica siempre con loadtest.db-url y tiene que ser local: la prueba crea y borra usuarios y tareas.
+ *
+ * @param dbUrl                URL JDBC de una BD Postgres local (obligatoria; no se lee .env ni DB_URL)
+ * @param dbUsername           usuario de esa BD
+ * @param dbPassword           contraseña de esa BD
+ * @param durationSeconds      duración de la medición
+ * @param warmupSeconds        calentamiento previo; sus resultados se descartan
+ * @param seed                 semilla de los datos y de las decisiones de cada usuario virtual
+ * @param departments          departamentos de prueba
+ * @param employees            empleados de prueba (contraseña común {@link #PASSWORD})
+ * @param tasksPerEmployee     tareas asignadas a cada empleado
+ * @param loginUsers           usuarios virtuales que hacen login sin pausa (tormenta de logins)
+ * @param pollers              empleados que consultan /time-logs/active y /tasks/my-tasks
+ * @param pollIntervalMillis   pausa media entre consultas de un poller
+ * @param timers               empleados que inician y detienen sesiones de tiempo
+ * @param sessionMillis        duración media de cada sesión de tiempo
+ * @param admins               administradores que abren los reportes
+ * @param reportIntervalMillis pausa media entre reportes
+ * @param reportFile           informe JSON de resultados
+ */
+record LoadTestConfig(
+        String dbUrl,
+        String dbUsername,
+        String dbPassword,
+        int durationSeconds,
+        int warmupSeconds,
+        long seed,
+        int departments,
+        int employees,
+        int tasksPerEmployee,
+        int loginUsers,
+        int pollers,
+        long pollIntervalMillis,
+        int timers,
+        long sessionMillis,
+        int admins,
+        long reportIntervalMillis,
+        String reportFile
+) {
+
+    static final String PASSWORD = "loadtest123";
+    static final String ADMIN_EMAIL = "admin@taskflow.com";
+    static final String ADMIN_PASSWORD = "admin123";
+
+    private static final Set<String> LOCAL_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                localDbUrl(System.getProperty("loadtest.db-url", "")),
+                System.getProperty("loadtest.db-username", "postgres"),
+                System.getProperty("loadtest.db-password", ""),
+                intProperty("duration", 60),
+                intProperty("warmup", 10),
+                Long.getLong("loadtest.seed", 42L),
+                intProperty("departments", 10),
+                intProperty("employees", 200),
+                intProperty("tasks-per-employee", 10),
+                intProperty("login-users", 10),
+                intProperty("pollers", 150),
+                Long.getLong("loadtest.poll-interval-ms", 2000L),
+                intProperty("timers", 30),
+                Long.getLong("loadtest.session-ms", 1000L),
+                intProperty("admins", 2),
+                Long.getLong("loadtest.report-interval-ms", 5000L),
+                System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        if (config.pollers() + config.timers() > config.employees()) {
+            throw new IllegalArgumentException("loadtest.pollers + loadtest.timers no puede superar loadtest.employees");
+        }
+        return config;
+    }
+
+    private static String localDbUrl(String url) {
+        if (url.isBlank()) {
+            throw new IllegalArgumentException("Falta -Dloadtest.db-url (p. ej. jdbc:postgresql://localhost:5432/taskflow_loadtest)");
+        }
+        String host = url.startsWith("jdbc:") ? URI.create(url.substring("jdbc:".length())).getHost() : null;
+        if (host == null || !LOCAL_HOSTS.contains(host)) {
+            throw new IllegalArgumentException("loadtest.db-url tiene que apuntar a una BD local, no a " + host);
+        }
+        return url;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,105 @@
+package com.taskflow.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Crea (si faltan) los departamentos, empleados y tareas de la prueba de carga con JDBC por lotes
+ * y los borra al terminar con {@link #cleanup()}.
+ * Los datos se identifican por nombre o email: si una ejecución se interrumpe, la siguiente los reutiliza.
+ */
+class LoadTestSeeder {
+
+    static final String EMAIL_PATTERN = "loadtest-%d@taskflow.local";
+
+    private static final String LOADTEST_USERS = "SELECT id FROM users WHERE email LIKE 'loadtest-%@taskflow.local'";
+    private static final String LOADTEST_TASKS = "SELECT id FROM tasks WHERE created_by = 'loadtest' "
+            + "OR assignee_id IN (" + LOADTEST_USERS + ") OR requester_id IN (" + LOADTEST_USERS + ")";
+
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "MEDIUM", "HIGH", "CRITICAL"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestConfig config;
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate, LoadTestConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+    }
+
+    /**
+     * @param passwordHash hash de {@link LoadTestConfig#PASSWORD} (el mismo para todos los empleados)
+     * @return IDs de las tareas asignadas a cada empleado de prueba, por email
+     */
+    Map<String, List<Long>> seed(String passwordHash) {
+        long started = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO departments (name, description, created_at, updated_at) "
+                + "SELECT 'LoadTest ' || g, 'Departamento de la prueba de carga', now(), now() "
+                + "FROM generate_series(1, ?) g ON CONFLICT (name) DO NOTHING", config.departments());
+
+        Random random = new Random(config.seed());
+        List<Object[]> users = new ArrayList<>(config.employees());
+        for (int i = 1; i <= config.employees(); i++) {
+            users.add(new Object[]{String.format(EMAIL_PATTERN, i), passwordHash, "Carga" + i, "Empleado",
+                    "LoadTest " + (1 + random.nextInt(config.departments()))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, first_name, last_name, role, department_id, "
+                + "active, security_version, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 'EMPLOYEE', (SELECT id FROM departments WHERE name = ?), true, 0, now(), now()) "
+                + "ON CONFLICT (email) DO NOTHING", users);
+
+        // Tareas solo para los empleados que aún no tienen ninguna
+        List<Object[]> tasks = new ArrayList<>();
+        for (Map<String, Object> user : jdbcTemplate.queryForList("SELECT u.id, u.department_id FROM users u "
+                + "WHERE u.email LIKE 'loadtest-%@taskflow.local' "
+                + "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.assignee_id = u.id) ORDER BY u.id")) {
+            for (int i = 1; i <= config.tasksPerEmployee(); i++) {
+                tasks.add(new Object[]{"Tarea de carga " + user.get("id") + "-" + i,
+                        PRIORITIES[random.nextInt(PRIORITIES.length)], user.get("department_id"),
+                        user.get("id"), user.get("id")});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, priority, department_id, "
+                + "assignee_id, requester_id, created_by, version, created_at, updated_at) "
+                + "VALUES (nextval('task_seq'), ?, 'Generada por la prueba de carga', 'PENDING', ?, ?, ?, ?, "
+                + "'loadtest', 0, now(), now())", tasks);
+
+        // Sesiones abiertas de una ejecución interrumpida
+        jdbcTemplate.update("UPDATE time_logs SET end_time = start_time, duration_minutes = 0 "
+                + "WHERE end_time IS NULL AND user_id IN (" + LOADTEST_USERS + ")");
+
+        Map<String, List<Long>> tasksByEmail = new HashMap<>();
+        jdbcTemplate.query("SELECT u.email, t.id FROM tasks t JOIN users u ON u.id = t.assignee_id "
+                        + "WHERE u.email LIKE 'loadtest-%@taskflow.local' ORDER BY t.id",
+                rs -> {
+                    tasksByEmail.computeIfAbsent(rs.getString(1), email -> new ArrayList<>()).add(rs.getLong(2));
+                });
+        System.out.printf("Datos de carga listos: %d empleados con tareas, %d tareas nuevas (%d ms)%n",
+                tasksByEmail.size(), tasks.size(), (System.nanoTime() - started) / 1_000_000);
+        return tasksByEmail;
+    }
+
+    /**
+     * Borra los empleados, tareas, registros de tiempo, acumulados y departamentos de la prueba.
+     * Los departamentos solo si ya no los usa nadie más.
+     */
+    void cleanup() {
+        long started = System.nanoTime();
+        int rollups = jdbcTemplate.update("DELETE FROM time_rollups WHERE user_id IN (" + LOADTEST_USERS + ") "
+                + "OR task_id IN (" + LOADTEST_TASKS + ")");
+        int logs = jdbcTemplate.update("DELETE FROM time_logs WHERE user_id IN (" + LOADTEST_USERS + ") "
+                + "OR task_id IN (" + LOADTEST_TASKS + ")");
+        int tasks = jdbcTemplate.update("DELETE FROM tasks WHERE id IN (" + LOADTEST_TASKS + ")");
+        int users = jdbcTemplate.update("DELETE FROM users WHERE id IN (" + LOADTEST_USERS + ")");
+        int departments = jdbcTemplate.update("DELETE FROM departments d WHERE d.name LIKE 'LoadTest %' "
+                + "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.department_id = d.id) "
+                + "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.department_id = d.id) "
+                + "AND NOT EXISTS (SELECT 1 FROM time_rollups r WHERE r.department_id = d.id)");
+        System.out.printf("Datos de carga borrados: %d empleados, %d tareas, %d registros, %d acumulados, %d departamentos (%d ms)%n",
+                users, tasks, logs, rollups, departments, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskflow.config;
+
+import com.taskflow.service.RequestTracingService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Access log de una línea por request (clave=valor) en el logger com.taskflow.access,
+ * que logback-spring.xml escribe con un appender asíncrono.
+ * Va dentro de {@link SqlStatementCountFilter} para incluir las sentencias SQL de la request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /** Usuario autenticado (ID o email), lo deja JwtAuthenticationFilter. */
+    public static final String USER_ATTRIBUTE = AccessLogFilter.class.getName() + ".user";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("com.taskflow.access");
+
+    private final RequestTracingService requestTracingService;
+
+    @Value("${app.access-log.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !ACCESS_LOG.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long started = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long micros = (System.nanoTime() - started) / 1000;
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Object user = request.getAttribute(USER_ATTRIBUTE);
+            StringBuilder line = new StringBuilder(160)
+                    .append("method=").append(request.getMethod())
+                    .append(" path=").append(request.getRequestURI())
+                    .append(" route=").append(route != null ? route : "-")
+                    .append(" status=").append(response.getStatus())
+                    .append(" ms=").append(micros / 1000).append('.').append(micros / 100 % 10)
+                    .append(" sql=").append(SqlStatementCounter.currentCount())
+                    .append(" user=").append(user != null ? user : "-");
+            if (request.isAsyncStarted()) {
+                line.append(" async=true");
+            }
+            if (requestTracingService.wasTraced(request)) {
+                line.append(" traced=true");
+            }
+            ACCESS_LOG.info(line.toString());
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.taskflow.config;
+
+import com.taskflow.service.TimeRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Perfil "seed": genera datos sintéticos a gran escala para pruebas de rendimiento en local
+ * (departamentos, usuarios, tareas y registros de tiempo cerrados) con COPY de PostgreSQL.
+ * Con la misma semilla (app.seed.random-seed) y la misma fecha final (app.seed.until) los datos son idénticos.
+ * Tamaños y distribuciones en application-seed.yml. Nunca se ejecuta junto al perfil prod.
+ */
+@Slf4j
+@Component
+@Profile("seed & !prod")
+@Order(Ordered.HIGHEST_PRECEDENCE) // antes de TimeRollupInitializer y DataInitializer
+@RequiredArgsConstructor
+public class DataSeeder implements CommandLineRunner {
+
+    static final String EMAIL_DOMAIN = "@seed.taskflow.local";
+    static final String PASSWORD = "seed123";
+
+    private static final int WORKDAY_START = 8 * 60;
+    private static final int WORKDAY_END = 19 * 60;
+    private static final int MAX_SESSION_MINUTES = 240;
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private static final String[] FIRST_NAMES = {"Ana", "Luis", "María", "Carlos", "Lucía", "Javier", "Elena", "Pablo",
+            "Sofía", "Diego", "Laura", "Andrés", "Carmen", "Miguel", "Paula", "Sergio", "Marta", "Raúl", "Isabel", "Hugo"};
+    private static final String[] LAST_NAMES = {"García", "Martínez", "López", "Sánchez", "Pérez", "Gómez", "Fernández",
+            "Díaz", "Ruiz", "Moreno", "Álvarez", "Romero", "Navarro", "Torres", "Ramos", "Gil", "Serrano", "Molina"};
+
+    // Distribuciones (acumuladas): 45% completadas, 25% pendientes, 20% en curso, 10% en pausa
+    private static final String[] STATUSES = {"COMPLETED", "PENDING", "IN_PROGRESS", "PAUSED"};
+    private static final double[] STATUS_WEIGHTS = {0.45, 0.70, 0.90, 1.0};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final double[] PRIORITY_WEIGHTS = {0.25, 0.70, 0.92, 1.0};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final TimeRollupService timeRollupService;
+    private final TaskSequenceInitializer taskSequenceInitializer;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.departments:50}")
+    private int departments;
+
+    @Value("${app.seed.users:5000}")
+    private int users;
+
+    @Value("${app.seed.tasks:200000}")
+    private int tasks;
+
+    @Value("${app.seed.time-logs:20000000}")
+    private long timeLogs;
+
+    @Value("${app.seed.days:365}")
+    private int days;
+
+    @Value("${app.seed.until:}")
+    private String until;
+
+    @Value("${app.seed.session-median-minutes:25}")
+    private double sessionMedianMinutes;
+
+    @Value("${app.seed.skip-if-present:true}")
+    private boolean skipIfPresent;
+
+    @Override
+    public void run(String... args) {
+        Boolean present = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE email LIKE ?)", Boolean.class, "%" + EMAIL_DOMAIN);
+        if (skipIfPresent && Boolean.TRUE.equals(present)) {
+            log.info("Seed: ya hay datos sintéticos, no se generan (app.seed.skip-if-present=false para añadir más)");
+            return;
+        }
+
+        LocalDate end = until.isBlank() ? LocalDate.now() : LocalDate.parse(until);
+        LocalDate start = end.minusDays(days - 1L);
+        log.info("Seed: {} departamentos, {} usuarios, {} tareas y ~{} registros de tiempo entre {} y {} (semilla {})",
+                departments, users, tasks, timeLogs, start, end, randomSeed);
+        long started = System.currentTimeMillis();
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            seed(connection, start, end);
+            return null;
+        });
+
+        // Las filas se insertaron con IDs explícitos: las secuencias deben seguir al máximo
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('departments', 'id'), MAX(id)) FROM departments", Long.class);
+        jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('users', 'id'), MAX(id)) FROM users", Long.class);
+        taskSequenceInitializer.alignSequence();
+        timeRollupService.rebuild();
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Seed: completado en {} s", (System.currentTimeMillis() - started) / 1000);
+    }
+
+    private void seed(Connection connection, LocalDate start, LocalDate end) throws SQLException {
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+        Random random = new Random(randomSeed);
+        String maxIdSql = "SELECT COALESCE(MAX(id), 0) FROM ";
+        long departmentBase = jdbcTemplate.queryForObject(maxIdSql + "departments", Long.class);
+        long userBase = jdbcTemplate.queryForObject(maxIdSql + "users", Long.class);
+        long taskBase = jdbcTemplate.queryForObject(maxIdSql + "tasks", Long.class);
+        int totalDays = days;
+
+        // Departamentos
+        try (CopyWriter out = new CopyWriter(copy, "COPY departments (id, name, description, created_at, updated_at) FROM STDIN (FORMAT csv)")) {
+            for (int d = 0; d < departments; d++) {
+                String createdAt = timestamp(start, -random.nextInt(365) - 1, WORKDAY_START);
+                out.row().append(departmentBase + d + 1).append(",Departamento seed ").append(departmentBase + d + 1)
+                        .append(",Departamento generado,").append(createdAt).append(',').append(createdAt);
+                out.endRow();
+            }
+            log.info("Seed: {} departamentos", out.finish());
+        }
+
+        // Usuarios, repartidos de forma desigual entre departamentos (los primeros son los más grandes)
+        int[] userDepartment = new int[users];
+        int[] departmentSize = new int[departments];
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        try (CopyWriter out = new CopyWriter(copy, "COPY users (id, email, password, first_name, last_name, role, "
+                + "department_id, active, security_version, created_at, updated_at) FROM STDIN (FORMAT csv)")) {
+            for (int u = 0; u < users; u++) {
+                int department = skewed(random, departments);
+                userDepartment[u] = department;
+                departmentSize[department]++;
+                long id = userBase + u + 1;
+                String createdAt = timestamp(start, -random.nextInt(180) - 1, WORKDAY_START + random.nextInt(600));
+                out.row().append(id).append(",seed-").append(id).append(EMAIL_DOMAIN).append(',').append(passwordHash)
+                        .append(',').append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                        .append(',').append(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                        .append(',').append(random.nextDouble() < 0.02 ? "MANAGER" : "EMPLOYEE")
+                        .append(',').append(departmentBase + department + 1)
+                        .append(',').append(random.nextDouble() < 0.97)
+                        .append(",0,").append(createdAt).append(',').append(createdAt);
+                out.endRow();
+            }
+            log.info("Seed: {} usuarios", out.finish());
+        }
+        int[][] usersByDepartment = groupBy(userDepartment, departmentSize);
+
+        // Tareas: asignadas a un miembro del departamento (15% sin asignar, que quedan pendientes)
+        int[] taskAssignee = new int[tasks];
+        int[] assignedCount = new int[users];
+        try (CopyWriter out = new CopyWriter(copy, "COPY tasks (id, title, description, status, priority, department_id, "
+                + "assignee_id, requester_id, created_by, version, created_at, updated_at) FROM STDIN (FORMAT csv)")) {
+            for (int t = 0; t < tasks; t++) {
+                int department = skewed(random, departments);
+                int[] members = usersByDepartment[department];
+                int requester = members.length > 0 ? members[random.nextInt(members.length)] : random.nextInt(users);
+                int assignee = members.length > 0 && random.nextDouble() < 0.85 ? members[random.nextInt(members.length)] : -1;
+                String status = assignee >= 0 ? pick(random, STATUSES, STATUS_WEIGHTS) : "PENDING";
+                taskAssignee[t] = assignee;
+                if (assignee >= 0) {
+                    assignedCount[assignee]++;
+                }
+                int createdDay = random.nextInt(totalDays);
+                int createdMinute = WORKDAY_START + random.nextInt(WORKDAY_END - WORKDAY_START);
+                int updatedDay = Math.min(totalDays - 1, createdDay + random.nextInt(30));
+                long id = taskBase + t + 1;
+                out.row().append(id).append(",Tarea seed ").append(id).append(",Tarea generada para pruebas de rendimiento,")
+                        .append(status).append(',').append(pick(random, PRIORITIES, PRIORITY_WEIGHTS))
+                        .append(',').append(departmentBase + department + 1)
+                        .append(',').append(assignee >= 0 ? String.valueOf(userBase + assignee + 1) : "")
+                        .append(',').append(userBase + requester + 1)
+                        .append(",seed-").append(userBase + requester + 1).append(EMAIL_DOMAIN)
+                        .append(",0,").append(timestamp(start, createdDay, createdMinute))
+                        .append(',').append(timestamp(start, updatedDay, createdMinute));
+                out.endRow();
+            }
+            log.info("Seed: {} tareas", out.finish());
+        }
+        int[][] tasksByUser = groupBy(taskAssignee, assignedCount);
+
+        // Los índices secundarios de time_logs se recrean al final: mantenerlos fila a fila es lo que más cuesta
+        Map<String, String> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT indexname, indexdef FROM pg_indexes WHERE schemaname = current_schema() "
+                        + "AND tablename = 'time_logs' AND indexname <> 'time_logs_pkey'",
+                rs -> {
+                    indexes.put(rs.getString(1), rs.getString(2));
+                });
+        indexes.keySet().forEach(name -> jdbcTemplate.execute("DROP INDEX " + name));
+        try {
+            seedTimeLogs(copy, random, start, end, userBase, taskBase, tasksByUser);
+        } finally {
+            long indexStarted = System.currentTimeMillis();
+            indexes.values().forEach(jdbcTemplate::execute);
+            log.info("Seed: {} índices de time_logs recreados en {} s", indexes.size(),
+                    (System.currentTimeMillis() - indexStarted) / 1000);
+        }
+    }
+
+    /**
+     * Registros cerrados repartidos entre los usuarios con tareas. Cada usuario sigue una línea de tiempo
+     * sin solapes, en días laborables de 8:00 a 19:00, con pausas exponenciales y sesiones log-normales
+     * (mediana app.seed.session-median-minutes, como mucho 4 h). Si la ventana se llena, el usuario acaba antes.
+     */
+    private void seedTimeLogs(CopyManager copy, Random random, LocalDate start, LocalDate end,
+                              long userBase, long taskBase, int[][] tasksByUser) throws SQLException {
+        int activeUsers = 0;
+        for (int[] userTasks : tasksByUser) {
+            if (userTasks.length > 0) {
+                activeUsers++;
+            }
+        }
+        if (activeUsers == 0 || timeLogs == 0) {
+            return;
+        }
+
+        long workdays = start.datesUntil(end.plusDays(1)).filter(DataSeeder::isWorkday).count();
+        double sigma = 0.8;
+        double meanSession = sessionMedianMinutes * Math.exp(sigma * sigma / 2);
+        long windowEnd = (long) days * 1440;
+        int dayOfWeekOffset = start.getDayOfWeek().getValue() - 1;
+
+        try (CopyWriter out = new CopyWriter(copy, "COPY time_logs (task_id, user_id, start_time, end_time, duration_minutes) "
+                + "FROM STDIN (FORMAT csv)")) {
+            int userIndex = 0;
+            for (int u = 0; u < tasksByUser.length; u++) {
+                int[] userTasks = tasksByUser[u];
+                if (userTasks.length == 0) {
+                    continue;
+                }
+                long sessions = timeLogs / activeUsers + (userIndex++ < timeLogs % activeUsers ? 1 : 0);
+                double meanGap = Math.max(5, workdays * (double) (WORKDAY_END - WORKDAY_START) / sessions - meanSession);
+                long userId = userBase + u + 1;
+                long cursor = WORKDAY_START + random.nextInt(60);
+
+                for (long s = 0; s < sessions; s++) {
+                    cursor += (long) (-meanGap * Math.log(1 - random.nextDouble()));
+                    long duration = Math.max(1, Math.min(MAX_SESSION_MINUTES,
+                            Math.round(Math.exp(Math.log(sessionMedianMinutes) + sigma * random.nextGaussian()))));
+                    cursor = fitInWorkday(cursor, duration, dayOfWeekOffset, random);
+                    if (cursor + duration > windowEnd) {
+                        break;
+                    }
+                    out.row().append(taskBase + userTasks[random.nextInt(userTasks.length)] + 1)
+                            .append(',').append(userId)
+                            .append(',').append(timestamp(start, (int) (cursor / 1440), (int) (cursor % 1440)))
+                            .append(',').append(timestamp(start, (int) ((cursor + duration) / 1440), (int) ((cursor + duration) % 1440)))
+                            .append(',').append(duration);
+                    out.endRow();
+                    cursor += duration;
+                    if (out.rows % 1_000_000 == 0) {
+                        log.info("Seed: {} registros de tiempo...", out.rows);
+                    }
+                }
+            }
+            log.info("Seed: {} registros de tiempo", out.finish());
+        }
+    }
+
+    /**
+     * Minutos desde el inicio de la ventana: mueve la sesión al siguiente hueco laborable en el que cabe.
+     */
+    private static long fitInWorkday(long cursor, long duration, int dayOfWeekOffset, Random random) {
+        while (true) {
+            long day = cursor / 1440;
+            long minute = cursor % 1440;
+            boolean weekend = (day + dayOfWeekOffset) % 7 >= 5;
+            if (weekend || minute + duration > WORKDAY_END) {
+                cursor = (day + 1) * 1440 + WORKDAY_START + random.nextInt(45);
+            } else if (minute < WORKDAY_START) {
+                cursor = day * 1440 + WORKDAY_START + random.nextInt(45);
+            } else {
+                return cursor;
+            }
+        }
+    }
+
+    private static boolean isWorkday(LocalDate date) {
+        return date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY;
+    }
+
+    /**
+     * Índice en [0, n) con más peso en los primeros (departamentos grandes y pequeños).
+     */
+    private static int skewed(Random random, int n) {
+        return Math.min(n - 1, (int) (n * Math.pow(random.nextDouble(), 1.6)));
+    }
+
+    private static String pick(Random random, String[] values, double[] cumulativeWeights) {
+        double r = random.nextDouble();
+        for (int i = 0; i < values.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    /**
+     * Agrupa los índices 0..n-1 por el grupo que les corresponde (-1 = sin grupo).
+     */
+    private static int[][] groupBy(int[] groupOf, int[] groupSize) {
+        int[][] groups = new int[groupSize.length][];
+        for (int g = 0; g < groupSize.length; g++) {
+            groups[g] = new int[groupSize[g]];
+        }
+        int[] filled = new int[groupSize.length];
+        for (int i = 0; i < groupOf.length; i++) {
+            if (groupOf[i] >= 0) {
+                groups[groupOf[i]][filled[groupOf[i]]++] = i;
+            }
+        }
+        return groups;
+    }
+
+    private static String timestamp(LocalDate start, int dayOffset, int minuteOfDay) {
+        return start.plusDays(dayOffset) + " " + twoDigits(minuteOfDay / 60) + ":" + twoDigits(minuteOfDay % 60) + ":00";
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : String.valueOf(value);
+    }
+
+    /**
+     * Filas CSV hacia un COPY ... FROM STDIN, enviadas en bloques de ~1 MB.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+        private long rows;
+
+        CopyWriter(CopyManager copy, String sql) throws SQLException {
+            this.copyIn = copy.copyIn(sql);
+        }
+
+        StringBuilder row() {
+            return buffer;
+        }
+
+        void endRow() throws SQLException {
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+
+        long finish() throws SQLException {
+            flush();
+            return copyIn.endCopy();
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskflow.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envuelve el DataSource de Hikari con {@link AdmissionControlDataSource}
+ * (app.db.admission.enabled). Por defecto admite tantas conexiones simultáneas
+ * como el tamaño máximo del pool.
+ */
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor admissionControlPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlDataSource
+                        || !env.getProperty("app.db.admission.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                int poolSize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrent = env.getProperty("app.db.admission.max-concurrent", Integer.class, poolSize);
+                Duration maxWait = env.getProperty("app.db.admission.max-wait", Duration.class, Duration.ofSeconds(5));
+                log.info("DataSource '{}' admission control: {} concurrent connections, max wait {}",
+                        beanName, maxConcurrent, maxWait);
+                return new AdmissionControlDataSource(dataSource, maxConcurrent, maxWait);
+            }
+        };
+    }
+
+    /**
+     * Permisos libres y requests esperando en el semáforo (las métricas de Hikari las registra Spring Boot).
+     */
+    @Bean
+    public MeterBinder admissionControlMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof AdmissionControlDataSource admission) {
+                Gauge.builder("taskflow.db.admission.available", admission, AdmissionControlDataSource::getAvailablePermits)
+                        .description("Conexiones que aún se pueden pedir al pool sin esperar")
+                        .register(registry);
+                Gauge.builder("taskflow.db.admission.queued", admission, AdmissionControlDataSource::getQueueLength)
+                        .description("Requests esperando turno para pedir conexión")
+                        .register(registry);
+            }
+        };
+    }
+}
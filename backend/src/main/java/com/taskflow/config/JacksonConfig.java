@@ -1,10 +1,14 @@
 package com.taskflow.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JacksonConfig {
@@ -16,4 +20,27 @@ public class JacksonConfig {
                         .configure(Hibernate6Module.Feature.FORCE_LAZY_LOADING, false)
                         .configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true));
     }
+
+    /**
+     * CBOR (Accept: application/cbor) con los mismos módulos y opciones que el JSON.
+     * Sustituye al conversor por defecto de Spring, que no lleva Hibernate6Module.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(configure(builder, new CBORMapper()));
+    }
+
+    /**
+     * Smile (Accept: application/x-jackson-smile), igual que CBOR.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(configure(builder, new SmileMapper()));
+    }
+
+    // configure() no modifica el builder compartido (factory() sí lo haría)
+    private static ObjectMapper configure(Jackson2ObjectMapperBuilder builder, ObjectMapper mapper) {
+        builder.configure(mapper);
+        return mapper;
+    }
 }
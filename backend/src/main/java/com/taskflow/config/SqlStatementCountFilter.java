@@ -0,0 +1,93 @@
+package com.taskflow.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Cuenta las sentencias SQL de cada request (incluida la autenticación) con {@link SqlStatementCounter}.
+ * Con app.sql-counter.expose-header (perfil dev) devuelve el total en la cabecera X-SQL-Statement-Count; si se supera
+ * app.sql-counter.warn-threshold registra un warning con la ruta y las consultas más repetidas.
+ * El total por ruta se publica en la métrica taskflow.sql.statements.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeader;
+    private final int warnThreshold;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry,
+                                   @Value("${app.sql-counter.expose-header:false}") boolean exposeHeader,
+                                   @Value("${app.sql-counter.warn-threshold:20}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeader = exposeHeader;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlStatementCounter.Stats previous = SqlStatementCounter.begin();
+        SqlStatementCounter.Stats stats = null;
+        try {
+            // La cabecera se añade justo antes de enviar la respuesta (con lo contado hasta ese momento)
+            filterChain.doFilter(request, exposeHeader ? new CountHeaderResponse(response) : response);
+        } finally {
+            stats = SqlStatementCounter.end(previous);
+            if (exposeHeader && !response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(stats.getCount()));
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("taskflow.sql.statements")
+                .description("Sentencias SQL por request")
+                .tag("method", request.getMethod())
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.getCount());
+
+        if (stats.getCount() > warnThreshold) {
+            log.warn("{} {} ran {} SQL statements (threshold {}): {}",
+                    request.getMethod(), route, stats.getCount(), warnThreshold, stats.topShapes(5));
+        }
+    }
+
+    private static final class CountHeaderResponse extends OnCommittedResponseWrapper {
+
+        CountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(HEADER, String.valueOf(SqlStatementCounter.currentCount()));
+        }
+    }
+}
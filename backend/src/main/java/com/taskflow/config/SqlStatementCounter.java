@@ -0,0 +1,124 @@
+package com.taskflow.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Cuenta las sentencias SQL que emite Hibernate en el hilo actual (registrado como StatementInspector).
+ * {@link SqlStatementCountFilter} abre un ámbito por request; los tests abren otro alrededor
+ * de la llamada (los ámbitos anidados suman también en el exterior).
+ * No cuenta el SQL lanzado con JdbcTemplate ni el de otros hilos (p. ej. CompletableFuture).
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    // Distintas formas de consulta guardadas por request (el total se cuenta siempre)
+    private static final int MAX_SHAPES = 50;
+    private static final int MAX_SHAPE_LENGTH = 160;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Override
+    public String inspect(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Empieza a contar en el hilo actual. Devuelve el ámbito anterior para restaurarlo con {@link #end(Stats)}.
+     */
+    public static Stats begin() {
+        Stats previous = CURRENT.get();
+        CURRENT.set(new Stats());
+        return previous;
+    }
+
+    /**
+     * Termina el ámbito actual, restaura el anterior (sumándole lo contado) y devuelve lo contado.
+     */
+    public static Stats end(Stats previous) {
+        Stats stats = CURRENT.get();
+        if (previous != null) {
+            if (stats != null) {
+                previous.add(stats);
+            }
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+        return stats != null ? stats : new Stats();
+    }
+
+    /**
+     * Sentencias contadas hasta ahora en el ámbito actual (0 si no hay ámbito).
+     */
+    public static int currentCount() {
+        Stats stats = CURRENT.get();
+        return stats != null ? stats.getCount() : 0;
+    }
+
+    /**
+     * Normaliza una sentencia para agrupar las que solo difieren en literales o en el tamaño de un IN.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    /**
+     * Total de sentencias y número de veces que se repite cada forma de consulta.
+     */
+    public static final class Stats {
+        private int count;
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        void record(String sql) {
+            count++;
+            addShape(shapeOf(sql), 1);
+        }
+
+        void add(Stats other) {
+            count += other.count;
+            other.shapes.forEach(this::addShape);
+        }
+
+        private void addShape(String shape, int times) {
+            if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+                shapes.merge(shape, times, Integer::sum);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Las formas más repetidas, de mayor a menor ("3x select ...").
+         * Una forma que se repite muchas veces suele ser un N+1.
+         */
+        public List<String> topShapes(int limit) {
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>(shapes.entrySet());
+            entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            List<String> top = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+                top.add(entry.getValue() + "x " + entry.getKey());
+            }
+            return top;
+        }
+    }
+}
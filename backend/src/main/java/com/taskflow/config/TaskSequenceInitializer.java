@@ -0,0 +1,34 @@
+package com.taskflow.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alinea task_seq con los IDs existentes de tasks.
+ * Las tareas creadas antes de usar la secuencia tienen IDs de la antigua columna IDENTITY,
+ * y la secuencia nueva empezaría en 1. Se ejecuta tras crear el esquema (después del EntityManagerFactory)
+ * y antes de que el servidor acepte requests.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class TaskSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tasks", Long.class);
+        Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM task_seq", Long.class);
+        if (maxId != null && lastValue != null && maxId > lastValue) {
+            // Con el optimizador pooled el siguiente nextval reserva (maxId, maxId + allocationSize]
+            jdbcTemplate.queryForObject("SELECT setval('task_seq', ?)", Long.class, maxId);
+            log.info("task_seq moved from {} to {}", lastValue, maxId);
+        }
+    }
+}
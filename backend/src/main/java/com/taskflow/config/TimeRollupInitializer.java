@@ -0,0 +1,39 @@
+package com.taskflow.config;
+
+import com.taskflow.repository.TimeLogRepository;
+import com.taskflow.repository.TimeRollupRepository;
+import com.taskflow.service.TimeRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rellena time_rollups desde time_logs al arrancar.
+ * Se ejecuta si la tabla está vacía y hay registros cerrados (primer despliegue)
+ * o si se fuerza con --app.time-rollup.rebuild-on-startup=true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+public class TimeRollupInitializer implements CommandLineRunner {
+
+    private final TimeRollupService timeRollupService;
+    private final TimeRollupRepository timeRollupRepository;
+    private final TimeLogRepository timeLogRepository;
+
+    @Value("${app.time-rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Override
+    public void run(String... args) {
+        boolean needsBackfill = timeRollupRepository.count() == 0 && timeLogRepository.existsByDurationMinutesIsNotNull();
+        if (rebuildOnStartup || needsBackfill) {
+            log.info("Reconstruyendo acumulados de tiempo desde time_logs...");
+            timeRollupService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskflow.controller;
+
+import com.taskflow.service.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Estado de la caché de segundo nivel (solo ADMIN).
+ */
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    /**
+     * Tamaño, aciertos, fallos y desalojos por región
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskflow.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Respuestas GET condicionales (ETag / If-None-Match). El cuerpo solo se calcula si el ETag
+ * del cliente no coincide; con Cache-Control no-cache el navegador guarda la respuesta
+ * y la revalida en cada petición, así que el frontend no necesita cambios.
+ * Cada formato (JSON, CBOR, Smile) tiene su propio ETag y la respuesta lleva Vary: Accept.
+ * Los ETags son débiles (W/): Tomcat no comprime respuestas con ETag fuerte, porque los bytes
+ * con gzip no son los mismos. If-None-Match usa comparación débil, así que el 304 no cambia.
+ */
+final class ConditionalResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * 304 sin cuerpo si If-None-Match coincide con version; si no, 200 con el cuerpo y el ETag.
+     * Con version null (recurso inexistente) se llama a body directamente para que responda el 404.
+     */
+    static <T> ResponseEntity<T> conditional(WebRequest request, String version, Supplier<T> body) {
+        if (version == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        String format = format(request.getHeader(HttpHeaders.ACCEPT));
+        String tag = "W/\"" + version + (format != null ? "-" + format : "") + "\"";
+        if (request.checkNotModified(tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(tag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    /**
+     * Formato binario que elegirá la negociación de contenido ("cbor" o "smile"), o null para JSON.
+     * Como Spring, prefiere la mayor calidad y, a igual calidad, el tipo concreto frente al comodín.
+     */
+    private static String format(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return null;
+        }
+        String best = null;
+        MediaType bestType = null;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            String format = type.isCompatibleWith(MediaType.APPLICATION_JSON) ? null
+                    : type.isCompatibleWith(MediaType.APPLICATION_CBOR) ? "cbor"
+                    : type.isCompatibleWith(SMILE) ? "smile" : "other";
+            if ("other".equals(format)) {
+                continue;
+            }
+            if (bestType == null || type.getQualityValue() > bestType.getQualityValue()
+                    || (type.getQualityValue() == bestType.getQualityValue()
+                    && bestType.isWildcardSubtype() && !type.isWildcardSubtype())) {
+                best = format;
+                bestType = type;
+            }
+        }
+        return best;
+    }
+}
@@ -4,17 +4,21 @@ import com.taskflow.dto.DepartmentResponse;
 import com.taskflow.entity.Department;
 import com.taskflow.entity.User;
 import com.taskflow.service.DepartmentService;
+import com.taskflow.service.EntityTagService;
 import com.taskflow.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.taskflow.controller.ConditionalResponses.conditional;
+
 /**
  * Controlador para la gestión de departamentos.
  * Solo ADMIN puede crear, editar y eliminar departamentos.
@@ -26,6 +30,7 @@ public class DepartmentController {
 
     private final DepartmentService departmentService;
     private final UserService userService;
+    private final EntityTagService entityTagService;
 
     /**
      * Crear departamento (solo ADMIN)
@@ -37,46 +42,37 @@ public class DepartmentController {
     }
 
     /**
-     * Obtener todos los departamentos con sus usuarios
+     * Obtener todos los departamentos con sus usuarios.
+     * Con include=counts solo se devuelve usersCount (sin lista de usuarios).
+     * Responde 304 si no ha cambiado nada desde el ETag del cliente.
      */
     @GetMapping
-    public ResponseEntity<List<DepartmentResponse>> getAllDepartments() {
-        List<Department> departments = departmentService.getAllDepartments();
-        List<DepartmentResponse> response = departments.stream()
-                .map(dept -> {
-                    List<User> users = userService.getUsersByDepartment(dept.getId());
-                    List<DepartmentResponse.UserSummary> userSummaries = users.stream()
-                            .map(u -> DepartmentResponse.UserSummary.builder()
-                                    .id(u.getId())
-                                    .firstName(u.getFirstName())
-                                    .lastName(u.getLastName())
-                                    .email(u.getEmail())
-                                    .role(u.getRole().name())
-                                    .build())
-                            .collect(Collectors.toList());
-                    return DepartmentResponse.fromEntity(dept, userSummaries);
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<DepartmentResponse>> getAllDepartments(
+            @RequestParam(required = false) String include, WebRequest request) {
+        boolean counts = "counts".equals(include);
+        return conditional(request, entityTagService.departments(counts ? include : null),
+                counts ? departmentService::getAllDepartmentCounts : departmentService::getAllDepartmentResponses);
     }
 
     /**
-     * Obtener departamento por ID
+     * Obtener departamento por ID (304 sin cargar sus usuarios si no ha cambiado)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<DepartmentResponse> getDepartmentById(@PathVariable Long id) {
+    public ResponseEntity<DepartmentResponse> getDepartmentById(@PathVariable Long id, WebRequest request) {
         Department dept = departmentService.getDepartmentById(id);
-        List<User> users = userService.getUsersByDepartment(id);
-        List<DepartmentResponse.UserSummary> userSummaries = users.stream()
-                .map(u -> DepartmentResponse.UserSummary.builder()
-                        .id(u.getId())
-                        .firstName(u.getFirstName())
-                        .lastName(u.getLastName())
-                        .email(u.getEmail())
-                        .role(u.getRole().name())
-                        .build())
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(DepartmentResponse.fromEntity(dept, userSummaries));
+        return conditional(request, entityTagService.department(dept), () -> {
+            List<User> users = userService.getUsersByDepartment(id);
+            List<DepartmentResponse.UserSummary> userSummaries = users.stream()
+                    .map(u -> DepartmentResponse.UserSummary.builder()
+                            .id(u.getId())
+                            .firstName(u.getFirstName())
+                            .lastName(u.getLastName())
+                            .email(u.getEmail())
+                            .role(u.getRole().name())
+                            .build())
+                    .collect(Collectors.toList());
+            return DepartmentResponse.fromEntity(dept, userSummaries);
+        });
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.taskflow.controller;
+
+import com.taskflow.dto.DepartmentReport;
+import com.taskflow.dto.ReportsResponse;
+import com.taskflow.dto.TaskReport;
+import com.taskflow.dto.UserReport;
+import com.taskflow.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controlador de reportes agregados (solo ADMIN).
+ * Rango opcional from/to (yyyy-MM-dd, ambos incluidos) aplicado a las horas registradas.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    /**
+     * Los tres reportes en una sola respuesta, calculados en paralelo
+     */
+    @GetMapping
+    public ResponseEntity<ReportsResponse> getAllReports(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getAllReports(from, to));
+    }
+
+    /**
+     * Horas y tareas por usuario (excluye administradores)
+     */
+    @GetMapping("/users")
+    public ResponseEntity<List<UserReport>> getUserReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getUserReport(from, to));
+    }
+
+    /**
+     * Usuarios, horas y tareas por departamento
+     */
+    @GetMapping("/departments")
+    public ResponseEntity<List<DepartmentReport>> getDepartmentReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getDepartmentReport(from, to));
+    }
+
+    /**
+     * Horas registradas por tarea
+     */
+    @GetMapping("/tasks")
+    public ResponseEntity<List<TaskReport>> getTaskReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getTaskReport(from, to));
+    }
+}
@@ -1,11 +1,16 @@
 package com.taskflow.controller;
 
+import com.taskflow.dto.TaskBatchItem;
+import com.taskflow.dto.TaskBatchResponse;
+import com.taskflow.dto.TaskFilter;
+import com.taskflow.dto.TaskPageResponse;
 import com.taskflow.dto.TaskResponse;
 import com.taskflow.entity.Task;
 import com.taskflow.entity.User;
-import com.taskflow.repository.TimeLogRepository;
+import com.taskflow.service.EntityTagService;
 import com.taskflow.service.TaskService;
 import com.taskflow.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,11 +18,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
+
+import static com.taskflow.controller.ConditionalResponses.conditional;
 
 /**
  * Controlador para la gestión de tareas.
@@ -29,16 +36,15 @@ public class TaskController {
 
     private final TaskService taskService;
     private final UserService userService;
-    private final TimeLogRepository timeLogRepository;
+    private final EntityTagService entityTagService;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Convierte Task a TaskResponse incluyendo el tiempo total registrado
+     * TaskResponse de una tarea con el tiempo total registrado, con una consulta de proyección
+     * (sin OSIV las relaciones LAZY de la entidad ya no se pueden leer aquí)
      */
-    private TaskResponse toTaskResponse(Task task) {
-        TaskResponse response = TaskResponse.fromEntity(task);
-        Long totalMinutes = timeLogRepository.getTotalMinutesByTask(task.getId());
-        response.setTotalTimeLogged(totalMinutes != null ? totalMinutes : 0L);
-        return response;
+    private TaskResponse toTaskResponse(Long taskId) {
+        return meterRegistry.timer("taskflow.tasks.to-response").record(() -> taskService.getTaskResponse(taskId));
     }
 
     /**
@@ -54,24 +60,47 @@ public class TaskController {
     }
 
     /**
-     * Obtener todas las tareas
+     * Crear tareas por lotes (solo ADMIN).
+     * Devuelve los IDs creados y los errores por fila; las filas válidas se crean aunque otras fallen.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TaskBatchResponse> createTasks(@RequestBody List<TaskBatchItem> tasks, Authentication auth) {
+        User requester = userService.getUserByEmail(auth.getName());
+        return ResponseEntity.ok(taskService.createTasks(tasks, requester));
+    }
+
+    /**
+     * Obtener todas las tareas (304 si no ha cambiado nada desde el ETag del cliente).
+     * Con ?fields=id,title,status solo se leen y devuelven esos campos.
      */
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        List<TaskResponse> response = tasks.stream()
-                .map(this::toTaskResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<?>> getAllTasks(@RequestParam(required = false) List<String> fields,
+                                               WebRequest request) {
+        if (fields == null) {
+            return conditional(request, entityTagService.tasks(null), taskService::getAllTaskResponses);
+        }
+        List<String> selected = taskService.validateFields(fields);
+        return conditional(request, entityTagService.tasks(selected), () -> taskService.getAllTaskFields(selected));
+    }
+
+    /**
+     * Obtener tareas paginadas (keyset) con filtros de estado, prioridad, departamento,
+     * asignado y rango de creación. Para la siguiente página se envía el nextCursor recibido.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<TaskPageResponse> getTaskPage(TaskFilter filter,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(taskService.getTaskPage(filter, cursor, size));
     }
 
     /**
-     * Obtener tarea por ID
+     * Obtener tarea por ID (304 si no ha cambiado desde el ETag del cliente)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
-        Task task = taskService.getTaskById(id);
-        return ResponseEntity.ok(toTaskResponse(task));
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, WebRequest request) {
+        return conditional(request, entityTagService.task(id), () -> toTaskResponse(id));
     }
 
     /**
@@ -98,11 +127,18 @@ public class TaskController {
      */
     @GetMapping("/department/{deptId}")
     public ResponseEntity<List<TaskResponse>> getByDepartment(@PathVariable Long deptId) {
-        List<Task> tasks = taskService.getTasksByDepartment(deptId);
-        List<TaskResponse> response = tasks.stream()
-                .map(this::toTaskResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(taskService.getTaskResponsesByDepartment(deptId));
+    }
+
+    /**
+     * Obtener tareas de un departamento paginadas (keyset)
+     */
+    @GetMapping("/department/{deptId}/page")
+    public ResponseEntity<TaskPageResponse> getByDepartmentPage(@PathVariable Long deptId, TaskFilter filter,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int size) {
+        filter.setDepartmentId(deptId);
+        return ResponseEntity.ok(taskService.getTaskPage(filter, cursor, size));
     }
 
     /**
@@ -111,11 +147,19 @@ public class TaskController {
     @GetMapping("/my-tasks")
     public ResponseEntity<List<TaskResponse>> getMyTasks(Authentication auth) {
         User user = userService.getUserByEmail(auth.getName());
-        List<Task> tasks = taskService.getTasksByAssignee(user.getId());
-        List<TaskResponse> response = tasks.stream()
-                .map(this::toTaskResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(taskService.getTaskResponsesByAssignee(user.getId()));
+    }
+
+    /**
+     * Obtener MIS tareas paginadas (keyset)
+     */
+    @GetMapping("/my-tasks/page")
+    public ResponseEntity<TaskPageResponse> getMyTasksPage(Authentication auth, TaskFilter filter,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int size) {
+        User user = userService.getUserByEmail(auth.getName());
+        filter.setAssigneeId(user.getId());
+        return ResponseEntity.ok(taskService.getTaskPage(filter, cursor, size));
     }
 
     /**
@@ -125,7 +169,7 @@ public class TaskController {
     public ResponseEntity<TaskResponse> startTask(@PathVariable Long taskId, @AuthenticationPrincipal UserDetails userDetails) {
         User user = userService.getUserByEmail(userDetails.getUsername());
         Task task = taskService.startTask(taskId, user);
-        return ResponseEntity.ok(toTaskResponse(task));
+        return ResponseEntity.ok(toTaskResponse(task.getId()));
     }
 
     /**
@@ -135,7 +179,7 @@ public class TaskController {
     public ResponseEntity<TaskResponse> pauseTask(@PathVariable Long taskId, @AuthenticationPrincipal UserDetails userDetails) {
         User user = userService.getUserByEmail(userDetails.getUsername());
         Task task = taskService.pauseTask(taskId, user);
-        return ResponseEntity.ok(toTaskResponse(task));
+        return ResponseEntity.ok(toTaskResponse(task.getId()));
     }
 
     /**
@@ -145,7 +189,7 @@ public class TaskController {
     public ResponseEntity<TaskResponse> completeTask(@PathVariable Long taskId, @AuthenticationPrincipal UserDetails userDetails) {
         User user = userService.getUserByEmail(userDetails.getUsername());
         Task task = taskService.completeTask(taskId, user);
-        return ResponseEntity.ok(toTaskResponse(task));
+        return ResponseEntity.ok(toTaskResponse(task.getId()));
     }
 
     /**
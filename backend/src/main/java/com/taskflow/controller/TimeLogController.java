@@ -1,20 +1,46 @@
 package com.taskflow.controller;
 
+import com.taskflow.dto.ActiveSession;
+import com.taskflow.dto.DailyTime;
+import com.taskflow.dto.TimeLogImportResponse;
+import com.taskflow.dto.TimeStats;
+import com.taskflow.dto.TimerEvent;
 import com.taskflow.entity.Task;
 import com.taskflow.entity.TaskStatus;
 import com.taskflow.entity.TimeLog;
 import com.taskflow.entity.User;
+import com.taskflow.exception.BusinessException;
 import com.taskflow.repository.TaskRepository;
 import com.taskflow.repository.TimeLogRepository;
+import com.taskflow.repository.TimeRollupRepository;
+import com.taskflow.security.AuthenticatedUser;
+import com.taskflow.service.RequestTracingService;
 import com.taskflow.service.TaskService;
+import com.taskflow.service.TimeLogExportService;
+import com.taskflow.service.TimeLogImportService;
+import com.taskflow.service.TimeLogService;
+import com.taskflow.service.TimeRollupService;
+import com.taskflow.service.TimerStreamService;
 import com.taskflow.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -36,55 +62,68 @@ public class TimeLogController {
     private final TaskRepository taskRepository;
     private final UserService userService;
     private final TaskService taskService;
+    private final TimeLogService timeLogService;
+    private final TimeRollupRepository timeRollupRepository;
+    private final TimeRollupService timeRollupService;
+    private final TimeLogExportService timeLogExportService;
+    private final TimeLogImportService timeLogImportService;
+    private final TimerStreamService timerStreamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final RequestTracingService requestTracingService;
 
     /**
      * Iniciar registro de tiempo en una tarea.
      * También cambia el estado de la tarea a IN_PROGRESS.
      */
     @PostMapping("/start/{taskId}")
-    public ResponseEntity<?> startTimeLog(@PathVariable Long taskId, Authentication auth) {
-        log.info("========================================");
-        log.info("POST /api/time-logs/start/{}", taskId);
-        log.info("Authentication: {}", auth != null ? auth.getName() : "NULL");
-        log.info("Authorities: {}", auth != null ? auth.getAuthorities() : "NULL");
+    public ResponseEntity<?> startTimeLog(@PathVariable Long taskId, Authentication auth, HttpServletRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean trace = requestTracingService.isTraced(request, auth != null ? auth.getName() : null);
         
         if (auth == null) {
-            log.error("✗ Authentication is NULL - User not authenticated!");
+            log.warn("POST /api/time-logs/start/{} without authentication", taskId);
+            sample.stop(timer("taskflow.time-logs.start", "unauthenticated"));
             return ResponseEntity.status(403).body(Map.of("error", "No autenticado"));
         }
         
         User user = userService.getUserByEmail(auth.getName());
-        log.info("User found: {} (ID: {})", user.getEmail(), user.getId());
         
-        // Verificar si ya tiene una tarea activa
-        Optional<TimeLog> activeLog = timeLogRepository.findByUserIdAndEndTimeIsNull(user.getId());
-        if (activeLog.isPresent()) {
-            log.warn("User {} already has an active task", user.getEmail());
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Ya tienes una tarea en progreso. Finalízala primero.");
-            return ResponseEntity.badRequest().body(error);
+        // Verificar si ya tiene una tarea activa (el registro en memoria evita ir a la BD)
+        if (timeLogService.getActiveSession(user.getId()).isPresent()) {
+            if (trace) {
+                requestTracingService.trace("start task {}: user {} already has an active task", taskId, user.getId());
+            }
+            sample.stop(timer("taskflow.time-logs.start", "already-active"));
+            return alreadyActive();
         }
         
         Task task = taskService.getTaskById(taskId);
-        log.info("Task found: {} (ID: {})", task.getTitle(), task.getId());
+        
+        // Crear el time log; la reserva atómica resuelve dos inicios simultáneos
+        TimeLog savedLog;
+        try {
+            savedLog = timeLogService.startTimeLog(user, task);
+        } catch (BusinessException e) {
+            if (trace) {
+                requestTracingService.trace("start task {}: user {} lost a concurrent start", taskId, user.getId());
+            }
+            sample.stop(timer("taskflow.time-logs.start", "already-active"));
+            return alreadyActive();
+        }
         
         // Cambiar estado de la tarea a IN_PROGRESS
         task.setStatus(TaskStatus.IN_PROGRESS);
         task.setAssignee(user);
         taskRepository.save(task);
-        log.info("Task status changed to IN_PROGRESS");
         
-        // Crear el time log
-        TimeLog timeLog = TimeLog.builder()
-                .user(user)
-                .task(task)
-                .startTime(LocalDateTime.now())
-                .build();
-        
-        TimeLog savedLog = timeLogRepository.save(timeLog);
-        log.info("✓ TimeLog created successfully (ID: {})", savedLog.getId());
-        log.info("========================================");
+        eventPublisher.publishEvent(TimerEvent.of(TimerEvent.STARTED, savedLog));
+        if (trace) {
+            requestTracingService.trace("start task {} ({}): user {} time log {} created, task IN_PROGRESS",
+                    taskId, task.getTitle(), user.getId(), savedLog.getId());
+        }
         
+        sample.stop(timer("taskflow.time-logs.start", "started"));
         return ResponseEntity.ok(savedLog);
     }
 
@@ -94,42 +133,37 @@ public class TimeLogController {
      */
     @PostMapping("/stop")
     public ResponseEntity<?> stopTimeLog(Authentication auth, @RequestBody(required = false) Map<String, String> body) {
-        User user = userService.getUserByEmail(auth.getName());
-        
-        Optional<TimeLog> activeLog = timeLogRepository.findByUserIdAndEndTimeIsNull(user.getId());
-        if (activeLog.isEmpty()) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Cerrar el time log (calcula la duración y actualiza el acumulado diario)
+        Optional<TimeLog> closedLog = timeLogService.closeActiveTimeLog(currentUserId(auth));
+        if (closedLog.isEmpty()) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "No tienes ninguna tarea activa.");
+            sample.stop(timer("taskflow.time-logs.stop", "no-session"));
             return ResponseEntity.badRequest().body(error);
         }
         
-        TimeLog log = activeLog.get();
-        log.setEndTime(LocalDateTime.now());
-        
-        // Calcular duración en minutos
-        long minutes = Duration.between(log.getStartTime(), log.getEndTime()).toMinutes();
-        log.setDurationMinutes(minutes);
-        
-        // Guardar el time log
-        TimeLog savedLog = timeLogRepository.save(log);
+        TimeLog savedLog = closedLog.get();
         
         // Actualizar la tarea a PENDING (pausada, no completada)
-        Task task = log.getTask();
+        Task task = savedLog.getTask();
         if (task != null && task.getStatus() == TaskStatus.IN_PROGRESS) {
             task.setStatus(TaskStatus.PENDING);
             taskRepository.save(task);
         }
         
+        eventPublisher.publishEvent(TimerEvent.of(TimerEvent.STOPPED, savedLog));
+        sample.stop(timer("taskflow.time-logs.stop", "stopped"));
         return ResponseEntity.ok(savedLog);
     }
 
     /**
-     * Obtener tarea activa del usuario actual
+     * Obtener tarea activa del usuario actual.
+     * Se responde desde el registro en memoria, sin consultar la BD.
      */
     @GetMapping("/active")
     public ResponseEntity<?> getActiveTimeLog(Authentication auth) {
-        User user = userService.getUserByEmail(auth.getName());
-        Optional<TimeLog> activeLog = timeLogRepository.findByUserIdAndEndTimeIsNull(user.getId());
+        Optional<ActiveSession> activeLog = timeLogService.getActiveSession(currentUserId(auth));
         
         if (activeLog.isEmpty()) {
             return ResponseEntity.ok(Map.of("active", false));
@@ -141,6 +175,17 @@ public class TimeLogController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Suscribirse a los cambios del contador de tiempo del usuario actual (Server-Sent Events).
+     * Eventos: started, stopped, cancelled, force-stopped; más un heartbeat periódico.
+     * EventSource no permite cabeceras, así que el token puede ir en ?access_token=.
+     * El ID sale del principal: suscribirse no usa ninguna conexión a la BD.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTimerEvents(Authentication auth) {
+        return timerStreamService.subscribe(currentUserId(auth));
+    }
+
     /**
      * Obtener historial del usuario actual
      */
@@ -165,41 +210,64 @@ public class TimeLogController {
      * Obtener estadísticas del usuario actual
      */
     @GetMapping("/my-stats")
-    public ResponseEntity<Map<String, Object>> getMyStats(Authentication auth) {
+    public ResponseEntity<TimeStats> getMyStats(Authentication auth) {
         User user = userService.getUserByEmail(auth.getName());
         
-        Long totalMinutes = timeLogRepository.getTotalMinutesByUser(user.getId());
-        
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(LocalTime.MAX);
-        List<TimeLog> todayLogs = timeLogRepository.findTodayByUserId(user.getId(), startOfDay, endOfDay);
-        long todayMinutes = todayLogs.stream()
-                .mapToLong(log -> log.getDurationMinutes() != null ? log.getDurationMinutes() : 0)
-                .sum();
-        
-        // Calcular horas de la semana
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(LocalDateTime.now().getDayOfWeek().getValue() - 1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfWeek = LocalDateTime.now();
-        List<TimeLog> weekLogs = timeLogRepository.findByUserIdAndDateRange(user.getId(), startOfWeek, endOfWeek);
-        long weekMinutes = weekLogs.stream()
-                .mapToLong(log -> log.getDurationMinutes() != null ? log.getDurationMinutes() : 0)
-                .sum();
+        // Los totales salen de time_rollups (un registro por usuario, tarea y día)
+        Long totalMinutes = timeRollupRepository.getTotalMinutesByUser(user.getId());
         
-        // Calcular horas del mes
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        List<TimeLog> monthLogs = timeLogRepository.findByUserIdAndDateRange(user.getId(), startOfMonth, endOfWeek);
-        long monthMinutes = monthLogs.stream()
-                .mapToLong(log -> log.getDurationMinutes() != null ? log.getDurationMinutes() : 0)
-                .sum();
+        // Hoy, semana y mes a partir de los totales diarios (una sola consulta)
+        LocalDate today = LocalDate.now();
+        List<DailyTime> days = timeRollupRepository.getDailyTotalsByUserBetween(
+                user.getId(), TimeStats.rangeStart(today), today);
         
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalHours", totalMinutes / 60.0);
-        stats.put("todayHours", Math.round(todayMinutes / 6.0) / 10.0);
-        stats.put("weekHours", Math.round(weekMinutes / 6.0) / 10.0);
-        stats.put("monthHours", Math.round(monthMinutes / 6.0) / 10.0);
-        stats.put("todayEntries", todayLogs.size());
+        // La sesión activa cuenta como registro de hoy si empezó hoy
+        Optional<ActiveSession> activeLog = timeLogService.getActiveSession(user.getId());
+        boolean activeToday = activeLog.isPresent() && activeLog.get().startTime().toLocalDate().equals(today);
         
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(TimeStats.summarize(totalMinutes, days, today, activeToday));
+    }
+
+    /**
+     * Exportar registros de tiempo de todos los usuarios (solo ADMIN).
+     * Se escribe en streaming (CSV o NDJSON) para exportar meses completos con memoria constante.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTimeLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = TimeLogExportService.FORMAT_CSV) String format) {
+        timeLogExportService.validate(from, to, format);
+        boolean csv = TimeLogExportService.FORMAT_CSV.equals(format);
+        String filename = "time-logs_" + from + "_" + to + "." + format;
+        StreamingResponseBody body = out -> timeLogExportService.export(from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Importar registros de tiempo cerrados desde otro gestor de tiempo (solo ADMIN).
+     * El cuerpo (CSV con cabecera o NDJSON) se lee en streaming; columnas: userEmail, taskId, startTime, endTime.
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TimeLogImportResponse> importTimeLogs(
+            @RequestParam(defaultValue = TimeLogExportService.FORMAT_CSV) String format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(timeLogImportService.importTimeLogs(body, format));
+    }
+
+    /**
+     * Reconstruir los acumulados diarios desde time_logs (solo ADMIN)
+     */
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildRollups() {
+        int rows = timeRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Acumulados reconstruidos", "rows", rows));
     }
 
     /**
@@ -216,14 +284,13 @@ public class TimeLogController {
      */
     @DeleteMapping("/cancel-active")
     public ResponseEntity<?> cancelActiveSession(Authentication auth) {
-        User user = userService.getUserByEmail(auth.getName());
-        
-        Optional<TimeLog> activeLog = timeLogRepository.findByUserIdAndEndTimeIsNull(user.getId());
-        if (activeLog.isEmpty()) {
+        // Eliminar el time log incompleto
+        Optional<TimeLog> cancelledLog = timeLogService.cancelActiveTimeLog(currentUserId(auth));
+        if (cancelledLog.isEmpty()) {
             return ResponseEntity.ok(Map.of("message", "No hay sesión activa para cancelar"));
         }
         
-        TimeLog log = activeLog.get();
+        TimeLog log = cancelledLog.get();
         
         // Restaurar la tarea a PENDING
         Task task = log.getTask();
@@ -232,8 +299,7 @@ public class TimeLogController {
             taskRepository.save(task);
         }
         
-        // Eliminar el time log incompleto
-        timeLogRepository.delete(log);
+        eventPublisher.publishEvent(TimerEvent.of(TimerEvent.CANCELLED, log));
         
         return ResponseEntity.ok(Map.of("message", "Sesión activa cancelada correctamente"));
     }
@@ -244,34 +310,47 @@ public class TimeLogController {
      */
     @PostMapping("/force-stop")
     public ResponseEntity<?> forceStopSession(Authentication auth) {
-        User user = userService.getUserByEmail(auth.getName());
-        
-        Optional<TimeLog> activeLog = timeLogRepository.findByUserIdAndEndTimeIsNull(user.getId());
-        if (activeLog.isEmpty()) {
+        // Cerrar el time log (calcula la duración y actualiza el acumulado diario)
+        Optional<TimeLog> closedLog = timeLogService.closeActiveTimeLog(currentUserId(auth));
+        if (closedLog.isEmpty()) {
             return ResponseEntity.ok(Map.of("message", "No hay sesión activa"));
         }
         
-        TimeLog log = activeLog.get();
-        log.setEndTime(LocalDateTime.now());
-        
-        // Calcular duración en minutos
-        long minutes = Duration.between(log.getStartTime(), log.getEndTime()).toMinutes();
-        log.setDurationMinutes(minutes);
-        
-        // Guardar el time log
-        TimeLog savedLog = timeLogRepository.save(log);
+        TimeLog savedLog = closedLog.get();
+        long minutes = savedLog.getDurationMinutes();
         
         // Actualizar la tarea a PENDING
-        Task task = log.getTask();
+        Task task = savedLog.getTask();
         if (task != null) {
             task.setStatus(TaskStatus.PENDING);
             taskRepository.save(task);
         }
         
+        eventPublisher.publishEvent(TimerEvent.of(TimerEvent.FORCE_STOPPED, savedLog));
         return ResponseEntity.ok(Map.of(
             "message", "Sesión cerrada correctamente",
             "minutesLogged", minutes,
             "timeLog", savedLog
         ));
     }
+
+    private Timer timer(String name, String outcome) {
+        return Timer.builder(name).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    private ResponseEntity<Map<String, String>> alreadyActive() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Ya tienes una tarea en progreso. Finalízala primero.");
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    /**
+     * ID del usuario autenticado; con principal stateless no hace falta consultar la BD.
+     */
+    private Long currentUserId(Authentication auth) {
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getId();
+        }
+        return userService.getUserByEmail(auth.getName()).getId();
+    }
 }
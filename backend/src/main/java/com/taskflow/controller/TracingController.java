@@ -0,0 +1,50 @@
+package com.taskflow.controller;
+
+import com.taskflow.dto.TracingSettings;
+import com.taskflow.service.RequestTracingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Trazado detallado de requests en caliente, sin reiniciar (solo ADMIN).
+ */
+@RestController
+@RequestMapping("/api/tracing")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class TracingController {
+
+    private final RequestTracingService requestTracingService;
+
+    /**
+     * Configuración actual
+     */
+    @GetMapping
+    public ResponseEntity<TracingSettings> getSettings() {
+        return ResponseEntity.ok(requestTracingService.getSettings());
+    }
+
+    /**
+     * Activar (o reemplazar) el trazado: usuarios, prefijos de ruta, muestreo y duración
+     */
+    @PutMapping
+    public ResponseEntity<TracingSettings> enable(@RequestBody TracingSettings settings) {
+        return ResponseEntity.ok(requestTracingService.enable(settings));
+    }
+
+    /**
+     * Desactivar el trazado
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> disable() {
+        requestTracingService.disable();
+        return ResponseEntity.noContent().build();
+    }
+}
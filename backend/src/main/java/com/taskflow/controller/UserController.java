@@ -1,16 +1,20 @@
 package com.taskflow.controller;
 
 import com.taskflow.entity.User;
+import com.taskflow.service.EntityTagService;
 import com.taskflow.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static com.taskflow.controller.ConditionalResponses.conditional;
+
 /**
  * Controlador para la gestión de usuarios.
  * Solo ADMIN puede crear, editar y eliminar usuarios.
@@ -21,6 +25,7 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final EntityTagService entityTagService;
 
     /**
      * Crear usuario (solo ADMIN) - Límite de 50 usuarios
@@ -43,19 +48,26 @@ public class UserController {
     }
 
     /**
-     * Obtener todos los usuarios
+     * Obtener todos los usuarios (304 si no ha cambiado nada desde el ETag del cliente).
+     * Con ?fields=id,firstName,lastName solo se leen y devuelven esos campos.
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<?>> getAllUsers(@RequestParam(required = false) List<String> fields,
+                                               WebRequest request) {
+        if (fields == null) {
+            return conditional(request, entityTagService.users(null), userService::getAllUsers);
+        }
+        List<String> selected = userService.validateFields(fields);
+        return conditional(request, entityTagService.users(selected), () -> userService.getAllUserFields(selected));
     }
 
     /**
-     * Obtener usuario por ID
+     * Obtener usuario por ID (304 sin serializarlo si no ha cambiado)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<User> getUserById(@PathVariable Long id, WebRequest request) {
+        User user = userService.getUserById(id);
+        return conditional(request, entityTagService.user(user), () -> user);
     }
 
     /**
@@ -0,0 +1,33 @@
+package com.taskflow.dto;
+
+import com.taskflow.entity.Priority;
+import com.taskflow.entity.Task;
+import com.taskflow.entity.TaskStatus;
+import com.taskflow.entity.TimeLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Instantánea inmutable de la sesión de tiempo abierta de un usuario.
+ * Es lo que devuelve /api/time-logs/active como "timeLog".
+ */
+public record ActiveSession(Long id, Long userId, LocalDateTime startTime, TaskSummary task) {
+
+    public record TaskSummary(Long id, String title, String description, TaskStatus status, Priority priority) {
+    }
+
+    /**
+     * Constructor usado por la consulta de carga inicial de TimeLogRepository.
+     */
+    public ActiveSession(Long id, Long userId, LocalDateTime startTime,
+                         Long taskId, String taskTitle, String taskDescription, Priority taskPriority) {
+        this(id, userId, startTime,
+                new TaskSummary(taskId, taskTitle, taskDescription, TaskStatus.IN_PROGRESS, taskPriority));
+    }
+
+    public static ActiveSession of(TimeLog timeLog) {
+        Task task = timeLog.getTask();
+        return new ActiveSession(timeLog.getId(), timeLog.getUser().getId(), timeLog.getStartTime(),
+                task.getId(), task.getTitle(), task.getDescription(), task.getPriority());
+    }
+}
@@ -0,0 +1,9 @@
+package com.taskflow.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Minutos y registros cerrados de un usuario en un día (suma de time_rollups de todas sus tareas).
+ */
+public record DailyTime(LocalDate day, Long minutes, Long entries) {
+}
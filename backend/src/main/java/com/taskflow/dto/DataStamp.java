@@ -0,0 +1,25 @@
+package com.taskflow.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen barato del estado de una tabla (o de una fila y sus relaciones) para calcular ETags:
+ * número de filas, una suma de control (versiones, minutos...) y la última modificación.
+ * Cualquier alta, baja o modificación cambia al menos uno de los tres valores.
+ */
+public record DataStamp(Long count, Long checksum, LocalDateTime lastModified) {
+
+    /**
+     * Para tablas sin updatedAt (time_rollups).
+     */
+    public DataStamp(Long count, Long checksum) {
+        this(count, checksum, null);
+    }
+
+    /**
+     * Para tablas sin versión ni otra suma de control.
+     */
+    public DataStamp(Long count, LocalDateTime lastModified) {
+        this(count, 0L, lastModified);
+    }
+}
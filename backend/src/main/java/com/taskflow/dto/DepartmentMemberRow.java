@@ -0,0 +1,31 @@
+package com.taskflow.dto;
+
+import com.taskflow.entity.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Usuario de un departamento leído por proyección, sin cargar la entidad Department.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentMemberRow {
+    private Long departmentId;
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private UserRole role;
+
+    public DepartmentResponse.UserSummary toSummary() {
+        return DepartmentResponse.UserSummary.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .role(role.name())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila del reporte de horas y tareas por departamento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentReport {
+    private Long departmentId;
+    private String departmentName;
+    private long totalUsers;
+    private double totalHours;
+    private long tasksCompleted;
+    private long tasksInProgress;
+    private double avgHoursPerUser;
+
+    /**
+     * Constructor usado por la consulta agregada de DepartmentRepository.
+     */
+    public DepartmentReport(Long departmentId, String departmentName, Long totalUsers,
+                            Long totalMinutes, Long tasksCompleted, Long tasksInProgress) {
+        this(departmentId, departmentName, totalUsers, ReportHours.fromMinutes(totalMinutes),
+                tasksCompleted, tasksInProgress,
+                totalUsers > 0 ? ReportHours.fromMinutes(totalMinutes / totalUsers) : 0);
+    }
+}
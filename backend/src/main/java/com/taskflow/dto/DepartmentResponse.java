@@ -21,6 +21,13 @@ public class DepartmentResponse {
     private int usersCount;
     private List<UserSummary> users;
 
+    /**
+     * Constructor usado por la consulta de conteos (sin lista de usuarios).
+     */
+    public DepartmentResponse(Long id, String name, String description, LocalDateTime createdAt, Long usersCount) {
+        this(id, name, description, createdAt, usersCount.intValue(), null);
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,14 @@
+package com.taskflow.dto;
+
+/**
+ * Conversión de minutos a horas con un decimal, igual que en /time-logs/my-stats.
+ */
+final class ReportHours {
+
+    private ReportHours() {
+    }
+
+    static double fromMinutes(Long minutes) {
+        return minutes != null ? Math.round(minutes / 6.0) / 10.0 : 0;
+    }
+}
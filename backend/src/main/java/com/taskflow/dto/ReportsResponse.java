@@ -0,0 +1,24 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Los tres reportes de administración calculados para el mismo rango de fechas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportsResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private List<UserReport> users;
+    private List<DepartmentReport> departments;
+    private List<TaskReport> tasks;
+}
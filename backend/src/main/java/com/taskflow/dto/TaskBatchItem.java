@@ -0,0 +1,18 @@
+package com.taskflow.dto;
+
+import com.taskflow.entity.Priority;
+import com.taskflow.entity.TaskStatus;
+import lombok.Data;
+
+/**
+ * Una tarea dentro de POST /api/tasks/batch. Las referencias van por ID.
+ */
+@Data
+public class TaskBatchItem {
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private Priority priority;
+    private Long departmentId;
+    private Long assigneeId;
+}
@@ -0,0 +1,30 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de una creación por lotes: IDs creados y errores por fila (índice en la lista enviada).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResponse {
+    private int received;
+    private int created;
+    private List<Long> createdIds;
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int index;
+        private String message;
+    }
+}
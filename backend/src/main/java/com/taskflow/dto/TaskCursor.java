@@ -0,0 +1,45 @@
+package com.taskflow.dto;
+
+import com.taskflow.entity.Priority;
+import com.taskflow.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para la paginación keyset de tareas: última clave de orden vista + id.
+ * Solo uno de updatedAt / priority viene informado, según el orden del listado.
+ */
+public record TaskCursor(LocalDateTime updatedAt, Priority priority, Long id) {
+
+    public static TaskCursor after(TaskResponse last, boolean byPriority) {
+        return byPriority
+                ? new TaskCursor(null, last.getPriority(), last.getId())
+                : new TaskCursor(last.getUpdatedAt(), null, last.getId());
+    }
+
+    public String encode() {
+        String key = priority != null ? "p:" + priority.name() : "u:" + updatedAt;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            String key = raw.substring(2, sep);
+            Long id = Long.valueOf(raw.substring(sep + 1));
+            if (raw.startsWith("p:")) {
+                return new TaskCursor(null, Priority.valueOf(key), id);
+            }
+            if (raw.startsWith("u:")) {
+                return new TaskCursor(LocalDateTime.parse(key), null, id);
+            }
+        } catch (RuntimeException e) {
+            // se trata abajo como cursor inválido
+        }
+        throw new BusinessException("Cursor de paginación inválido");
+    }
+}
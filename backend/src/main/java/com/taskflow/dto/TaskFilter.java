@@ -0,0 +1,32 @@
+package com.taskflow.dto;
+
+import com.taskflow.entity.Priority;
+import com.taskflow.entity.TaskStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros y orden del listado paginado de tareas (se enlaza desde los query params).
+ */
+@Data
+public class TaskFilter {
+    private TaskStatus status;
+    private Priority priority;
+    private Long departmentId;
+    private Long assigneeId;
+
+    // Rango de creación, ambos días incluidos
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+
+    // updatedAt (más recientes primero) o priority (CRITICAL primero); desempate por id
+    private String sort = "updatedAt";
+
+    public boolean isSortByPriority() {
+        return "priority".equals(sort);
+    }
+}
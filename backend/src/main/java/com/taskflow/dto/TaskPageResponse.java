@@ -0,0 +1,22 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de tareas con el cursor para pedir la siguiente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageResponse {
+    private List<TaskResponse> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
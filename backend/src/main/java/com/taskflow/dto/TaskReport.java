@@ -0,0 +1,34 @@
+package com.taskflow.dto;
+
+import com.taskflow.entity.Priority;
+import com.taskflow.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila del reporte de horas por tarea.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskReport {
+    private Long taskId;
+    private String taskTitle;
+    private String assignee;
+    private String department;
+    private TaskStatus status;
+    private Priority priority;
+    private double totalHours;
+
+    /**
+     * Constructor usado por la consulta agregada de TaskRepository.
+     */
+    public TaskReport(Long taskId, String taskTitle, String assigneeFirstName, String assigneeLastName,
+                      String department, TaskStatus status, Priority priority, Long totalMinutes) {
+        this(taskId, taskTitle,
+                assigneeFirstName != null ? assigneeFirstName + " " + assigneeLastName : "Sin asignar",
+                department != null ? department : "Sin departamento",
+                status, priority, ReportHours.fromMinutes(totalMinutes));
+    }
+}
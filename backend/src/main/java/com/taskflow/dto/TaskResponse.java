@@ -41,6 +41,23 @@ public class TaskResponse {
     // Tiempo total registrado (calculado)
     private Long totalTimeLogged;
 
+    /**
+     * Constructor usado por las consultas de proyección de TaskRepository
+     * (SELECT new ...), que ya traen los datos aplanados y el tiempo total.
+     */
+    public TaskResponse(Long id, String title, String description, TaskStatus status, Priority priority,
+                        LocalDateTime createdAt, LocalDateTime updatedAt,
+                        Long departmentId, String departmentName,
+                        Long assigneeId, String assigneeFirstName, String assigneeLastName,
+                        Long requesterId, String requesterFirstName, String requesterLastName,
+                        Long totalTimeLogged) {
+        this(id, title, description, status, priority, createdAt, updatedAt, null,
+                departmentId, departmentName,
+                assigneeId, assigneeFirstName, assigneeLastName,
+                requesterId, requesterFirstName, requesterLastName,
+                totalTimeLogged);
+    }
+
     /**
      * Convierte una entidad Task a TaskResponse.
      */
@@ -0,0 +1,28 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de exportación de registros de tiempo, ya unida con usuario, tarea y departamento.
+ * Es una proyección (no entidad) para que el streaming no llene el contexto de persistencia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeLogExportRow {
+    private Long id;
+    private Long userId;
+    private String userEmail;
+    private String userFirstName;
+    private String userLastName;
+    private Long taskId;
+    private String taskTitle;
+    private String departmentName;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long durationMinutes;
+}
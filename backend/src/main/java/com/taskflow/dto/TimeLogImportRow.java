@@ -0,0 +1,21 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de importación de registros de tiempo (CSV o NDJSON).
+ * Usa los mismos nombres de columna que la exportación, así que un fichero exportado se puede reimportar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeLogImportRow {
+    private String userEmail;
+    private Long taskId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,57 @@
+package com.taskflow.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Estadísticas de /api/time-logs/my-stats.
+ * Hoy, semana y mes se calculan en memoria a partir de los totales diarios desde {@link #rangeStart}.
+ */
+public record TimeStats(double totalHours, double todayHours, double weekHours, double monthHours, int todayEntries) {
+
+    /**
+     * Primer día que hace falta leer: el lunes de la semana o el día 1 del mes, el que sea anterior.
+     */
+    public static LocalDate rangeStart(LocalDate today) {
+        LocalDate startOfWeek = startOfWeek(today);
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        return startOfWeek.isBefore(startOfMonth) ? startOfWeek : startOfMonth;
+    }
+
+    /**
+     * @param activeToday hay una sesión abierta que empezó hoy (cuenta como registro de hoy)
+     */
+    public static TimeStats summarize(long totalMinutes, List<DailyTime> days, LocalDate today, boolean activeToday) {
+        LocalDate startOfWeek = startOfWeek(today);
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        long todayMinutes = 0;
+        long weekMinutes = 0;
+        long monthMinutes = 0;
+        long todayEntries = activeToday ? 1 : 0;
+
+        for (DailyTime day : days) {
+            LocalDate date = day.day();
+            if (date.isAfter(today)) {
+                continue;
+            }
+            long minutes = day.minutes() != null ? day.minutes() : 0;
+            if (date.equals(today)) {
+                todayMinutes += minutes;
+                todayEntries += day.entries() != null ? day.entries() : 0;
+            }
+            if (!date.isBefore(startOfWeek)) {
+                weekMinutes += minutes;
+            }
+            if (!date.isBefore(startOfMonth)) {
+                monthMinutes += minutes;
+            }
+        }
+
+        return new TimeStats(totalMinutes / 60.0, ReportHours.fromMinutes(todayMinutes),
+                ReportHours.fromMinutes(weekMinutes), ReportHours.fromMinutes(monthMinutes), (int) todayEntries);
+    }
+
+    private static LocalDate startOfWeek(LocalDate today) {
+        return today.minusDays(today.getDayOfWeek().getValue() - 1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskflow.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.taskflow.entity.Task;
+import com.taskflow.entity.TimeLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio en el contador de tiempo de un usuario, enviado por /api/time-logs/stream.
+ * Lleva solo los datos del registro, no la entidad.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimerEvent {
+
+    public static final String STARTED = "started";
+    public static final String STOPPED = "stopped";
+    public static final String CANCELLED = "cancelled";
+    public static final String FORCE_STOPPED = "force-stopped";
+
+    private String type;
+    @JsonIgnore
+    private Long userId;
+    private Long timeLogId;
+    private Long taskId;
+    private String taskTitle;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long durationMinutes;
+
+    public static TimerEvent of(String type, TimeLog timeLog) {
+        Task task = timeLog.getTask();
+        return TimerEvent.builder()
+                .type(type)
+                .userId(timeLog.getUser().getId())
+                .timeLogId(timeLog.getId())
+                .taskId(task != null ? task.getId() : null)
+                .taskTitle(task != null ? task.getTitle() : null)
+                .startTime(timeLog.getStartTime())
+                .endTime(timeLog.getEndTime())
+                .durationMinutes(timeLog.getDurationMinutes())
+                .build();
+    }
+}
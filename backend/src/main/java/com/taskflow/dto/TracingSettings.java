@@ -0,0 +1,31 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuración del trazado detallado de requests (autenticación JWT e inicio de sesiones de tiempo).
+ * Sin usuarios ni rutas se trazan todas las requests, con la probabilidad sampleRate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TracingSettings {
+    private boolean enabled;
+    // Fracción de las requests que cumplen el filtro que se trazan (0..1)
+    private Double sampleRate;
+    // Emails de usuario (vacío = cualquiera)
+    private Set<String> users;
+    // Prefijos de ruta, p. ej. /api/time-logs (vacío = cualquiera)
+    private List<String> routes;
+    // Solo en la petición: minutos hasta que se desactiva solo
+    private Integer durationMinutes;
+    private Instant expiresAt;
+}
@@ -0,0 +1,30 @@
+package com.taskflow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila del reporte de horas y tareas por usuario.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserReport {
+    private Long userId;
+    private String userName;
+    private String department;
+    private double totalHours;
+    private long tasksCompleted;
+    private long tasksInProgress;
+
+    /**
+     * Constructor usado por la consulta agregada de UserRepository.
+     */
+    public UserReport(Long userId, String firstName, String lastName, String department,
+                      Long totalMinutes, Long tasksCompleted, Long tasksInProgress) {
+        this(userId, firstName + " " + lastName,
+                department != null ? department : "Sin departamento",
+                ReportHours.fromMinutes(totalMinutes), tasksCompleted, tasksInProgress);
+    }
+}
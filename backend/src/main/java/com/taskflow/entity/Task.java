@@ -1,5 +1,6 @@
 package com.taskflow.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
@@ -19,8 +20,12 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Task {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Secuencia con reserva de bloques (pooled) para permitir inserts por lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = Task.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -37,6 +42,11 @@ public class Task {
     @Column(nullable = false)
     private Priority priority;
 
+    // CRITICAL 3 > HIGH 2 > MEDIUM 1 > LOW 0: columna generada en la BD (V7), solo para ordenar y paginar
+    @JsonIgnore
+    @Column(name = "priority_rank", insertable = false, updatable = false)
+    private Integer priorityRank;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id", nullable = false)
     private Department department;
@@ -0,0 +1,50 @@
+package com.taskflow.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Acumulado de minutos registrados por usuario, tarea y día.
+ * Se mantiene de forma incremental al cerrar cada TimeLog para no recalcular
+ * los totales sobre todo el histórico de time_logs.
+ */
+@Entity
+@Table(name = "time_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_time_rollups_user_task_date",
+                columnNames = {"user_id", "task_id", "log_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id")
+    private Department department;
+
+    // Día de inicio del bloque de tiempo, igual que los filtros por startTime
+    @Column(name = "log_date", nullable = false)
+    private LocalDate logDate;
+
+    @Column(nullable = false)
+    private long minutes;
+
+    // Número de registros cerrados que forman el acumulado
+    @Column(nullable = false)
+    private long entries;
+}
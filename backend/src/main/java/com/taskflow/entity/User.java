@@ -1,7 +1,10 @@
 package com.taskflow.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,6 +19,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
+// Caché de segundo nivel: las búsquedas por ID (y por email, con query cache) no llegan a la BD
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
 
     @Id
@@ -44,6 +49,12 @@ public class User {
 
     private boolean active = true;
 
+    // Se incrementa cuando cambian rol, estado o contraseña para invalidar los JWT emitidos
+    @JsonIgnore
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long securityVersion = 0L;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
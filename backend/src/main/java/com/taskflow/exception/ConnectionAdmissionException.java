@@ -0,0 +1,17 @@
+package com.taskflow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Excepción lanzada cuando no se obtiene turno para una conexión a la BD a tiempo.
+ * Es una SQLException porque se lanza desde DataSource.getConnection.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ConnectionAdmissionException extends SQLTransientConnectionException {
+    public ConnectionAdmissionException(String message) {
+        super(message);
+    }
+}
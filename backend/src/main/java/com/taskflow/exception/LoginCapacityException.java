@@ -0,0 +1,15 @@
+package com.taskflow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando la cola de verificación de contraseñas está llena
+ * o el login no obtiene turno a tiempo. El cliente debe reintentar más tarde.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LoginCapacityException extends RuntimeException {
+    public LoginCapacityException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,59 @@
 package com.taskflow.repository;
 
+import com.taskflow.dto.DataStamp;
+import com.taskflow.dto.DepartmentReport;
+import com.taskflow.dto.DepartmentResponse;
 import com.taskflow.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    // Listados completos desde la query cache (se invalidan con cualquier escritura en departments)
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Department> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Department> findAll(Sort sort);
+
+    // IDs existentes de una lista (validación por lotes sin cargar entidades)
+    @Query("SELECT d.id FROM Department d WHERE d.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // ETag de los listados que incluyen departamentos
+    @Query("SELECT new com.taskflow.dto.DataStamp(COUNT(d), MAX(d.updatedAt)) FROM Department d")
+    DataStamp getDataStamp();
+
+    // Departamentos con su número de usuarios (COUNT ... GROUP BY, sin cargar usuarios)
+    @Query("SELECT new com.taskflow.dto.DepartmentResponse(d.id, d.name, d.description, d.createdAt, COUNT(u)) "
+            + "FROM Department d LEFT JOIN User u ON u.department = d "
+            + "GROUP BY d.id, d.name, d.description, d.createdAt ORDER BY d.id")
+    List<DepartmentResponse> findAllWithUserCounts();
+
+    // Reporte por departamento: usuarios, horas (time_rollups en el rango) y tareas por estado
+    @Query("SELECT new com.taskflow.dto.DepartmentReport(d.id, d.name, COALESCE(uc.users, 0L), "
+            + "COALESCE(m.minutes, 0L), COALESCE(c.completed, 0L), COALESCE(c.inProgress, 0L)) "
+            + "FROM Department d "
+            + "LEFT JOIN (SELECT u.department.id AS departmentId, COUNT(u) AS users FROM User u "
+            + "GROUP BY u.department.id) uc ON uc.departmentId = d.id "
+            + "LEFT JOIN (SELECT r.department.id AS departmentId, SUM(r.minutes) AS minutes FROM TimeRollup r "
+            + "WHERE r.logDate BETWEEN :from AND :to "
+            + "GROUP BY r.department.id) m ON m.departmentId = d.id "
+            + "LEFT JOIN (SELECT t.department.id AS departmentId, "
+            + "SUM(CASE WHEN t.status = com.taskflow.entity.TaskStatus.COMPLETED THEN 1L ELSE 0L END) AS completed, "
+            + "SUM(CASE WHEN t.status = com.taskflow.entity.TaskStatus.IN_PROGRESS THEN 1L ELSE 0L END) AS inProgress "
+            + "FROM Task t GROUP BY t.department.id) c ON c.departmentId = d.id "
+            + "ORDER BY d.name")
+    List<DepartmentReport> getDepartmentReport(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
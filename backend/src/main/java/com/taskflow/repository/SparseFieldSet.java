@@ -0,0 +1,102 @@
+package com.taskflow.repository;
+
+import com.taskflow.exception.BusinessException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Campos que un recurso permite pedir con ?fields= y la expresión JPQL de cada uno.
+ * La consulta solo selecciona las columnas pedidas y solo añade los joins que necesitan;
+ * cada fila se devuelve como un mapa campo → valor en el orden pedido.
+ */
+public final class SparseFieldSet {
+
+    /**
+     * Un campo: expresión JPQL y, si la necesita, el join que la hace posible (null si no).
+     */
+    private record Field(String expression, String join) {
+    }
+
+    private final String from;
+    private final String orderBy;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    private SparseFieldSet(String from, String orderBy) {
+        this.from = from;
+        this.orderBy = orderBy;
+    }
+
+    /**
+     * @param from    entidad y alias de la consulta, p. ej. "Task t"
+     * @param orderBy orden estable del listado, p. ej. "t.id"
+     */
+    public static SparseFieldSet of(String from, String orderBy) {
+        return new SparseFieldSet(from, orderBy);
+    }
+
+    public SparseFieldSet field(String name, String expression) {
+        return field(name, expression, null);
+    }
+
+    public SparseFieldSet field(String name, String expression, String join) {
+        fields.put(name, new Field(expression, join));
+        return this;
+    }
+
+    /**
+     * Normaliza la lista pedida (sin espacios, vacíos ni repetidos) y rechaza los campos no declarados.
+     */
+    public List<String> validate(List<String> requested) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String name : requested) {
+            String field = name.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!fields.containsKey(field)) {
+                throw new BusinessException("Campo no permitido: " + field + ". Campos disponibles: "
+                        + String.join(", ", fields.keySet()));
+            }
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw new BusinessException("fields no puede estar vacío. Campos disponibles: "
+                    + String.join(", ", fields.keySet()));
+        }
+        return new ArrayList<>(selected);
+    }
+
+    /**
+     * Ejecuta la proyección con los campos ya validados.
+     */
+    public List<Map<String, Object>> query(EntityManager entityManager, List<String> selected) {
+        List<String> expressions = new ArrayList<>();
+        Set<String> joins = new LinkedHashSet<>();
+        for (int i = 0; i < selected.size(); i++) {
+            Field field = fields.get(selected.get(i));
+            expressions.add(field.expression() + " AS f" + i);
+            if (field.join() != null) {
+                joins.add(field.join());
+            }
+        }
+        String jpql = "SELECT " + String.join(", ", expressions) + " FROM " + from
+                + (joins.isEmpty() ? "" : " " + String.join(" ", joins)) + " ORDER BY " + orderBy;
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(jpql, Tuple.class).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                row.put(selected.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -1,13 +1,73 @@
 package com.taskflow.repository;
 
+import com.taskflow.dto.DataStamp;
+import com.taskflow.dto.TaskReport;
+import com.taskflow.dto.TaskResponse;
 import com.taskflow.entity.Task;
 import com.taskflow.entity.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     List<Task> findByStatus(TaskStatus status);
     List<Task> findByAssigneeId(Long assigneeId);
     List<Task> findByDepartmentId(Long departmentId);
     long countByStatus(TaskStatus status);
+
+    // Proyección de TaskResponse en una sola sentencia: joins + SUM agrupado de time_rollups
+    String TASK_RESPONSE_SELECT = "SELECT new com.taskflow.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.priority, t.createdAt, t.updatedAt, "
+            + "d.id, d.name, a.id, a.firstName, a.lastName, r.id, r.firstName, r.lastName, "
+            + "COALESCE(SUM(tr.minutes), 0L)) "
+            + "FROM Task t "
+            + "LEFT JOIN t.department d "
+            + "LEFT JOIN t.assignee a "
+            + "LEFT JOIN t.requester r "
+            + "LEFT JOIN TimeRollup tr ON tr.task = t ";
+
+    String TASK_RESPONSE_GROUP_BY = " GROUP BY t.id, t.title, t.description, t.status, t.priority, t.createdAt, t.updatedAt, "
+            + "d.id, d.name, a.id, a.firstName, a.lastName, r.id, r.firstName, r.lastName";
+
+    @Query(TASK_RESPONSE_SELECT + TASK_RESPONSE_GROUP_BY + " ORDER BY t.id")
+    List<TaskResponse> findAllResponses();
+
+    @Query(TASK_RESPONSE_SELECT + "WHERE d.id = :departmentId" + TASK_RESPONSE_GROUP_BY + " ORDER BY t.id")
+    List<TaskResponse> findResponsesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(TASK_RESPONSE_SELECT + "WHERE a.id = :assigneeId" + TASK_RESPONSE_GROUP_BY + " ORDER BY t.id")
+    List<TaskResponse> findResponsesByAssigneeId(@Param("assigneeId") Long assigneeId);
+
+    // Reporte por tarea: horas registradas en el rango (time_rollups) agrupadas por tarea
+    @Query("SELECT new com.taskflow.dto.TaskReport(t.id, t.title, a.firstName, a.lastName, d.name, t.status, t.priority, "
+            + "COALESCE(SUM(tr.minutes), 0L)) "
+            + "FROM Task t LEFT JOIN t.assignee a LEFT JOIN t.department d "
+            + "LEFT JOIN TimeRollup tr ON tr.task = t "
+            + "AND tr.logDate BETWEEN :from AND :to "
+            + "GROUP BY t.id, t.title, a.firstName, a.lastName, d.name, t.status, t.priority "
+            + "ORDER BY t.id")
+    List<TaskReport> getTaskReport(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ETag de GET /api/tasks: filas, suma de versiones (@Version) y última modificación
+    @Query("SELECT new com.taskflow.dto.DataStamp(COUNT(t), COALESCE(SUM(t.version), 0L), MAX(t.updatedAt)) FROM Task t")
+    DataStamp getDataStamp();
+
+    // ETag de GET /api/tasks/{id}: versión, minutos registrados y la última modificación
+    // de la tarea o de su departamento, asignado y solicitante (sus nombres van en la respuesta)
+    @Query("SELECT new com.taskflow.dto.DataStamp(t.version, COALESCE(SUM(tr.minutes), 0L), "
+            + "GREATEST(t.updatedAt, d.updatedAt, a.updatedAt, r.updatedAt)) "
+            + "FROM Task t LEFT JOIN t.department d LEFT JOIN t.assignee a LEFT JOIN t.requester r "
+            + "LEFT JOIN TimeRollup tr ON tr.task = t "
+            + "WHERE t.id = :id "
+            + "GROUP BY t.id, t.version, t.updatedAt, d.updatedAt, a.updatedAt, r.updatedAt")
+    Optional<DataStamp> getDataStampById(@Param("id") Long id);
+
+    // Segunda fase de la paginación keyset: proyecta solo los IDs de la página
+    @Query(TASK_RESPONSE_SELECT + "WHERE t.id IN :ids" + TASK_RESPONSE_GROUP_BY)
+    List<TaskResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,47 @@
+package com.taskflow.repository;
+
+import com.taskflow.dto.TaskCursor;
+import com.taskflow.dto.TaskFilter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de tareas que se construyen dinámicamente según los filtros.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Campos de GET /api/tasks?fields= (mismos nombres que TaskResponse). Los IDs de departamento,
+     * asignado y solicitante salen de la clave foránea; los nombres añaden su join y
+     * totalTimeLogged una subconsulta sobre time_rollups.
+     */
+    SparseFieldSet FIELDS = SparseFieldSet.of("Task t", "t.id")
+            .field("id", "t.id")
+            .field("title", "t.title")
+            .field("description", "t.description")
+            .field("status", "t.status")
+            .field("priority", "t.priority")
+            .field("createdAt", "t.createdAt")
+            .field("updatedAt", "t.updatedAt")
+            .field("departmentId", "t.department.id")
+            .field("departmentName", "d.name", "LEFT JOIN t.department d")
+            .field("assigneeId", "t.assignee.id")
+            .field("assigneeFirstName", "a.firstName", "LEFT JOIN t.assignee a")
+            .field("assigneeLastName", "a.lastName", "LEFT JOIN t.assignee a")
+            .field("requesterId", "t.requester.id")
+            .field("requesterFirstName", "r.firstName", "LEFT JOIN t.requester r")
+            .field("requesterLastName", "r.lastName", "LEFT JOIN t.requester r")
+            .field("totalTimeLogged", "(SELECT COALESCE(SUM(tr.minutes), 0L) FROM TimeRollup tr WHERE tr.task = t)");
+
+    /**
+     * Devuelve los IDs de hasta {@code limit} tareas posteriores al cursor (keyset),
+     * en el orden indicado por el filtro.
+     */
+    List<Long> findPageIds(TaskFilter filter, TaskCursor cursor, int limit);
+
+    /**
+     * Todas las tareas con solo los campos indicados (ya validados con {@link #FIELDS}).
+     */
+    List<Map<String, Object>> findFields(List<String> fields);
+}
@@ -0,0 +1,92 @@
+package com.taskflow.repository;
+
+import com.taskflow.dto.TaskCursor;
+import com.taskflow.dto.TaskFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación del listado paginado por keyset sobre (updatedAt, id) o (priorityRank, id).
+ * Solo selecciona IDs sobre la tabla tasks, sin joins ni agregados, para que el coste
+ * de cada página dependa del tamaño de página y no del número total de tareas.
+ * También las proyecciones de ?fields= declaradas en {@link TaskRepositoryCustom#FIELDS}.
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findPageIds(TaskFilter filter, TaskCursor cursor, int limit) {
+        boolean byPriority = filter.isSortByPriority();
+        StringBuilder jpql = new StringBuilder("SELECT t.id FROM Task t WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.getStatus() != null) {
+            jpql.append(" AND t.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getPriority() != null) {
+            jpql.append(" AND t.priority = :priority");
+            params.put("priority", filter.getPriority());
+        }
+        if (filter.getDepartmentId() != null) {
+            jpql.append(" AND t.department.id = :departmentId");
+            params.put("departmentId", filter.getDepartmentId());
+        }
+        if (filter.getAssigneeId() != null) {
+            jpql.append(" AND t.assignee.id = :assigneeId");
+            params.put("assigneeId", filter.getAssigneeId());
+        }
+        if (filter.getCreatedFrom() != null) {
+            jpql.append(" AND t.createdAt >= :createdFrom");
+            params.put("createdFrom", filter.getCreatedFrom().atStartOfDay());
+        }
+        if (filter.getCreatedTo() != null) {
+            jpql.append(" AND t.createdAt < :createdTo");
+            params.put("createdTo", filter.getCreatedTo().plusDays(1).atStartOfDay());
+        }
+
+        // Comparación de tuplas: el cursor marca dónde empieza el recorrido del índice
+        // (idx_tasks_priority_rank_id o idx_tasks_updated_id) en lugar de filtrar fila a fila
+        if (cursor != null) {
+            if (byPriority) {
+                jpql.append(" AND (t.priorityRank, t.id) < (:cursorRank, :cursorId)");
+                params.put("cursorRank", rank(cursor));
+            } else {
+                jpql.append(" AND (t.updatedAt, t.id) < (:cursorUpdatedAt, :cursorId)");
+                params.put("cursorUpdatedAt", cursor.updatedAt());
+            }
+            params.put("cursorId", cursor.id());
+        }
+
+        jpql.append(byPriority ? " ORDER BY t.priorityRank DESC, t.id DESC" : " ORDER BY t.updatedAt DESC, t.id DESC");
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(List<String> fields) {
+        return FIELDS.query(entityManager, fields);
+    }
+
+    // Igual que la columna generada tasks.priority_rank (V7)
+    private static int rank(TaskCursor cursor) {
+        if (cursor.priority() == null) {
+            return 0;
+        }
+        return switch (cursor.priority()) {
+            case CRITICAL -> 3;
+            case HIGH -> 2;
+            case MEDIUM -> 1;
+            case LOW -> 0;
+        };
+    }
+}
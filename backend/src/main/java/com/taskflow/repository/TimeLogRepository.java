@@ -1,26 +1,40 @@
 package com.taskflow.repository;
 
+import com.taskflow.dto.ActiveSession;
+import com.taskflow.dto.TimeLogExportRow;
 import com.taskflow.entity.TimeLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad TimeLog.
  */
 public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
     
-    // Buscar registros activos de un usuario (donde endTime es null)
-    Optional<TimeLog> findByUserIdAndEndTimeIsNull(Long userId);
+    // Sesiones abiertas de todos los usuarios (carga inicial de ActiveSessionRegistry)
+    @Query("SELECT new com.taskflow.dto.ActiveSession(l.id, l.user.id, l.startTime, t.id, t.title, t.description, t.priority) "
+            + "FROM TimeLog l JOIN l.task t WHERE l.endTime IS NULL ORDER BY l.startTime, l.id")
+    List<ActiveSession> findActiveSessions();
     
+    // Registro con su tarea ya cargada (al cerrar o cancelar, el controlador la pasa a PENDING fuera de la transacción)
+    @Query("SELECT l FROM TimeLog l LEFT JOIN FETCH l.task WHERE l.id = :id")
+    Optional<TimeLog> findWithTaskById(@Param("id") Long id);
+
     // Listar todos los registros de una tarea
     List<TimeLog> findByTaskId(Long taskId);
     
-    // Listar todos los registros de un usuario
+    // Listar todos los registros de un usuario (con el usuario cargado: se serializa completo)
+    @EntityGraph(attributePaths = "user")
     List<TimeLog> findByUserIdOrderByStartTimeDesc(Long userId);
     
     // Registros de un usuario en un rango de fechas
@@ -35,7 +49,19 @@ public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
     @Query("SELECT COALESCE(SUM(t.durationMinutes), 0) FROM TimeLog t WHERE t.task.id = :taskId")
     Long getTotalMinutesByTask(@Param("taskId") Long taskId);
     
+    // Hay al menos un registro cerrado (usado para decidir si rellenar time_rollups)
+    boolean existsByDurationMinutesIsNotNull();
+    
+    // Exportación por rango de fechas: se lee como stream con fetch size para no cargarlo todo en memoria
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.taskflow.dto.TimeLogExportRow(l.id, u.id, u.email, u.firstName, u.lastName, "
+            + "t.id, t.title, d.name, l.startTime, l.endTime, l.durationMinutes) "
+            + "FROM TimeLog l JOIN l.user u JOIN l.task t LEFT JOIN t.department d "
+            + "WHERE l.startTime >= :from AND l.startTime < :to ORDER BY l.startTime, l.id")
+    Stream<TimeLogExportRow> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
     // Registros de hoy para un usuario (usando rango de fechas)
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT t FROM TimeLog t WHERE t.user.id = :userId AND t.startTime >= :startOfDay AND t.startTime < :endOfDay ORDER BY t.startTime DESC")
     List<TimeLog> findTodayByUserId(@Param("userId") Long userId, @Param("startOfDay") LocalDateTime startOfDay, @Param("endOfDay") LocalDateTime endOfDay);
 }
@@ -0,0 +1,68 @@
+package com.taskflow.repository;
+
+import com.taskflow.dto.DailyTime;
+import com.taskflow.dto.DataStamp;
+import com.taskflow.entity.TimeRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositorio para los acumulados diarios de tiempo.
+ * Las escrituras nativas declaran time_rollups como único espacio afectado; sin él Hibernate
+ * vaciaría todas las regiones de caché (usuarios, departamentos y consultas) en cada cierre.
+ */
+public interface TimeRollupRepository extends JpaRepository<TimeRollup, Long> {
+
+    // Suma (o resta, con valores negativos) minutos al acumulado del día de forma atómica
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "INSERT INTO time_rollups (user_id, task_id, department_id, log_date, minutes, entries) "
+            + "VALUES (:userId, :taskId, :departmentId, :logDate, :minutes, :entries) "
+            + "ON CONFLICT (user_id, task_id, log_date) DO UPDATE SET "
+            + "minutes = time_rollups.minutes + EXCLUDED.minutes, "
+            + "entries = time_rollups.entries + EXCLUDED.entries",
+            nativeQuery = true)
+    void addMinutes(@Param("userId") Long userId, @Param("taskId") Long taskId, @Param("departmentId") Long departmentId,
+                    @Param("logDate") LocalDate logDate, @Param("minutes") long minutes, @Param("entries") long entries);
+
+    // Reconstruye todos los acumulados a partir de los time_logs cerrados
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "INSERT INTO time_rollups (user_id, task_id, department_id, log_date, minutes, entries) "
+            + "SELECT l.user_id, l.task_id, t.department_id, CAST(l.start_time AS date), SUM(l.duration_minutes), COUNT(*) "
+            + "FROM time_logs l JOIN tasks t ON t.id = l.task_id "
+            + "WHERE l.duration_minutes IS NOT NULL "
+            + "GROUP BY l.user_id, l.task_id, t.department_id, CAST(l.start_time AS date)",
+            nativeQuery = true)
+    int backfillFromTimeLogs();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "time_rollups"))
+    @Query(value = "DELETE FROM time_rollups", nativeQuery = true)
+    int deleteAllRows();
+
+    // Total de minutos por usuario
+    @Query("SELECT COALESCE(SUM(r.minutes), 0) FROM TimeRollup r WHERE r.user.id = :userId")
+    Long getTotalMinutesByUser(@Param("userId") Long userId);
+
+    // ETag del tiempo total por tarea: los minutos ponderados por tarea cambian aunque se muevan entre tareas
+    @Query("SELECT new com.taskflow.dto.DataStamp(COUNT(r), COALESCE(SUM(r.minutes * r.task.id), 0L)) FROM TimeRollup r")
+    DataStamp getDataStamp();
+
+    // Total de minutos por tarea
+    @Query("SELECT COALESCE(SUM(r.minutes), 0) FROM TimeRollup r WHERE r.task.id = :taskId")
+    Long getTotalMinutesByTask(@Param("taskId") Long taskId);
+
+    // Totales por día de un usuario entre dos días (ambos incluidos)
+    @Query("SELECT new com.taskflow.dto.DailyTime(r.logDate, SUM(r.minutes), SUM(r.entries)) FROM TimeRollup r "
+            + "WHERE r.user.id = :userId AND r.logDate >= :from AND r.logDate <= :to GROUP BY r.logDate")
+    List<DailyTime> getDailyTotalsByUserBetween(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,14 +1,64 @@
 package com.taskflow.repository;
 
+import com.taskflow.dto.DataStamp;
+import com.taskflow.dto.DepartmentMemberRow;
+import com.taskflow.dto.UserReport;
 import com.taskflow.entity.User;
 import com.taskflow.entity.UserRole;
+import com.taskflow.security.AuthenticatedUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    // Query cache: el ID se resuelve sin SQL y la entidad sale de la caché de segundo nivel
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     List<User> findByDepartmentId(Long departmentId);
     List<User> findByRole(UserRole role);
     long countByRole(UserRole role);
+
+    // IDs existentes de una lista (validación por lotes sin cargar entidades)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Solo las columnas necesarias para autorizar un JWT (sin JOIN a departamento)
+    @Query("SELECT new com.taskflow.security.AuthenticatedUser(u.id, u.email, u.role, u.active, u.securityVersion) FROM User u WHERE u.id = :id")
+    Optional<AuthenticatedUser> findAuthenticatedUserById(@Param("id") Long id);
+
+    // Miembros de todos los departamentos en una sola consulta (sin JOIN a departments)
+    @Query("SELECT new com.taskflow.dto.DepartmentMemberRow(u.department.id, u.id, u.firstName, u.lastName, u.email, u.role) "
+            + "FROM User u WHERE u.department IS NOT NULL ORDER BY u.department.id, u.id")
+    List<DepartmentMemberRow> findAllDepartmentMembers();
+
+    // ETag de los listados que incluyen usuarios (altas, bajas y cualquier modificación)
+    @Query("SELECT new com.taskflow.dto.DataStamp(COUNT(u), MAX(u.updatedAt)) FROM User u")
+    DataStamp getDataStamp();
+
+    // ETag de los miembros de un departamento
+    @Query("SELECT new com.taskflow.dto.DataStamp(COUNT(u), MAX(u.updatedAt)) FROM User u WHERE u.department.id = :departmentId")
+    DataStamp getDataStampByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Reporte por usuario: horas (time_rollups en el rango) y tareas por estado, con GROUP BY en subconsultas
+    @Query("SELECT new com.taskflow.dto.UserReport(u.id, u.firstName, u.lastName, d.name, "
+            + "COALESCE(m.minutes, 0L), COALESCE(c.completed, 0L), COALESCE(c.inProgress, 0L)) "
+            + "FROM User u LEFT JOIN u.department d "
+            + "LEFT JOIN (SELECT r.user.id AS userId, SUM(r.minutes) AS minutes FROM TimeRollup r "
+            + "WHERE r.logDate BETWEEN :from AND :to "
+            + "GROUP BY r.user.id) m ON m.userId = u.id "
+            + "LEFT JOIN (SELECT t.assignee.id AS userId, "
+            + "SUM(CASE WHEN t.status = com.taskflow.entity.TaskStatus.COMPLETED THEN 1L ELSE 0L END) AS completed, "
+            + "SUM(CASE WHEN t.status = com.taskflow.entity.TaskStatus.IN_PROGRESS THEN 1L ELSE 0L END) AS inProgress "
+            + "FROM Task t WHERE t.assignee IS NOT NULL GROUP BY t.assignee.id) c ON c.userId = u.id "
+            + "WHERE u.role <> com.taskflow.entity.UserRole.ADMIN "
+            + "ORDER BY u.firstName, u.lastName")
+    List<UserReport> getUserReport(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,31 @@
+package com.taskflow.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de usuarios que se construyen dinámicamente.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Campos de GET /api/users?fields=. El departamento se aplana en departmentId
+     * (clave foránea, sin join) y departmentName. La contraseña no se puede pedir.
+     */
+    SparseFieldSet FIELDS = SparseFieldSet.of("User u", "u.id")
+            .field("id", "u.id")
+            .field("email", "u.email")
+            .field("firstName", "u.firstName")
+            .field("lastName", "u.lastName")
+            .field("role", "u.role")
+            .field("active", "u.active")
+            .field("departmentId", "u.department.id")
+            .field("departmentName", "d.name", "LEFT JOIN u.department d")
+            .field("createdAt", "u.createdAt")
+            .field("updatedAt", "u.updatedAt");
+
+    /**
+     * Todos los usuarios con solo los campos indicados (ya validados con {@link #FIELDS}).
+     */
+    List<Map<String, Object>> findFields(List<String> fields);
+}
@@ -0,0 +1,21 @@
+package com.taskflow.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proyecciones de usuarios con ?fields=: no carga la entidad (ni su departamento EAGER).
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(List<String> fields) {
+        return FIELDS.query(entityManager, fields);
+    }
+}
@@ -0,0 +1,69 @@
+package com.taskflow.security;
+
+import com.taskflow.entity.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal ligero reconstruido a partir del JWT.
+ * Solo contiene lo necesario para autorizar: no carga departamento ni contraseña.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final UserRole role;
+    private final boolean active;
+    private final long securityVersion;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, UserRole role, boolean active, long securityVersion) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.active = active;
+        this.securityVersion = securityVersion;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active;
+    }
+}
@@ -0,0 +1,135 @@
+package com.taskflow.security;
+
+import com.taskflow.exception.LoginCapacityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifica contraseñas en un pool propio de tantos hilos como CPUs y con cola acotada.
+ * BCrypt es CPU pura: en una avalancha de logins más hilos no dan más throughput, solo
+ * quitan CPU al resto de requests. Con la cola llena (o si no hay turno en max-wait) se
+ * responde 503 enseguida en lugar de acumular requests esperando.
+ */
+@Slf4j
+@Component
+public class PasswordVerifier implements MeterBinder {
+
+    /**
+     * Resultado de una verificación. upgradedHash es el nuevo hash si el almacenado
+     * usa un formato o un coste anterior al actual (null si no hay que cambiarlo).
+     */
+    public record Result(boolean matches, String upgradedHash) {
+    }
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final String dummyHash;
+    private Counter rejected;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${app.security.login.threads:0}") int threads,
+                            @Value("${app.security.login.queue-capacity:64}") int queueCapacity,
+                            @Value("${app.security.login.max-wait:5s}") Duration maxWait) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        // Para emails inexistentes se compara igualmente contra un hash (mismo tiempo de respuesta)
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        log.info("Password verification: {} threads, queue {}, max wait {}", poolSize, queueCapacity, maxWait);
+    }
+
+    /**
+     * Comprueba la contraseña contra el hash almacenado; encodedPassword null equivale a usuario inexistente.
+     *
+     * @throws LoginCapacityException si no hay hueco en la cola o la verificación no termina en max-wait
+     */
+    public Result verify(String rawPassword, String encodedPassword) {
+        String raw = rawPassword != null ? rawPassword : "";
+        Future<Result> future;
+        try {
+            future = executor.submit(() -> check(raw, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            countRejection();
+            throw new LoginCapacityException("Demasiados inicios de sesión simultáneos, reintente en unos segundos");
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            countRejection();
+            throw new LoginCapacityException("Demasiados inicios de sesión simultáneos, reintente en unos segundos");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginCapacityException("Verificación de contraseña interrumpida");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Result check(String raw, String encodedPassword) {
+        if (encodedPassword == null) {
+            passwordEncoder.matches(raw, dummyHash);
+            return new Result(false, null);
+        }
+        if (!passwordEncoder.matches(raw, encodedPassword)) {
+            return new Result(false, null);
+        }
+        String upgraded = passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(raw) : null;
+        return new Result(true, upgraded);
+    }
+
+    private void countRejection() {
+        if (rejected != null) {
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Hilos ocupados, logins en cola y rechazos (503).
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("taskflow.login.verification.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Verificaciones de contraseña en curso")
+                .register(registry);
+        Gauge.builder("taskflow.login.verification.queued", executor, e -> e.getQueue().size())
+                .description("Logins esperando hilo de verificación")
+                .register(registry);
+        rejected = Counter.builder("taskflow.login.verification.rejected")
+                .description("Logins rechazados con 503 por cola llena o espera agotada")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
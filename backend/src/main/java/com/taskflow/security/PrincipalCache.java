@@ -0,0 +1,58 @@
+package com.taskflow.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.taskflow.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché acotada y con expiración de los principales autenticados por ID de usuario.
+ * Permite validar el claim "sv" (versión de seguridad) del JWT sin consultar la BD en cada request.
+ * Las entradas se invalidan al modificar el usuario; en el peor caso un cambio tarda el TTL en verse.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final LoadingCache<Long, Optional<AuthenticatedUser>> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${jwt.principal-cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userRepository::findAuthenticatedUserById);
+    }
+
+    /**
+     * Devuelve el estado actual del usuario, cargándolo desde la BD solo si no está en caché.
+     */
+    public Optional<AuthenticatedUser> get(Long userId) {
+        return cache.get(userId);
+    }
+
+    /**
+     * Elimina la entrada de un usuario. Si hay una transacción activa, se hace tras el commit
+     * para que una request concurrente no vuelva a cachear el estado anterior.
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+        log.debug("Principal cache invalidated for user {}", userId);
+    }
+}
@@ -1,32 +1,59 @@
 package com.taskflow.security.jwt;
 
+import com.taskflow.config.AccessLogFilter;
+import com.taskflow.security.AuthenticatedUser;
+import com.taskflow.security.PrincipalCache;
+import com.taskflow.service.RequestTracingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Optional;
 
 /**
  * Filtro para validar el token JWT en cada solicitud.
+ * En modo stateless el principal se reconstruye desde los claims del token
+ * y se valida contra {@link PrincipalCache}; los tokens antiguos sin esos claims
+ * siguen usando {@link UserDetailsService}.
+ * Si la BD no responde al validar el token se contesta 503 directamente.
+ * Solo escribe trazas detalladas en las requests que elige {@link RequestTracingService}.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Único endpoint que acepta el token como parámetro (EventSource no envía cabeceras). */
+    private static final String TOKEN_PARAM_PATH = "/api/time-logs/stream";
+    private static final String TOKEN_PARAM = "access_token";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
+    private final RequestTracingService requestTracingService;
+
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -34,32 +61,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
-
-        log.info("========================================");
-        log.info("Request URI: {} Method: {}", request.getRequestURI(), request.getMethod());
-        log.info("Authorization Header: {}", authHeader != null ? "Bearer ***" : "NULL");
+        // Mide solo la autenticación (sin el resto de la cadena), etiquetada por resultado
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "rejected";
+        final String authHeader = resolveAuthorization(request);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.warn("No Authorization header or not Bearer token");
+            if (requestTracingService.isTraced(request, null)) {
+                requestTracingService.trace("{} {}: no Bearer token", request.getMethod(), request.getRequestURI());
+            }
+            sample.stop(authTimer("anonymous"));
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        log.info("JWT Token: {}...", jwt.substring(0, Math.min(20, jwt.length())));
-        
+        String userEmail = null;
+        String failure = null;
         try {
-            userEmail = jwtService.extractUsername(jwt);
-            log.info("Extracted username from token: {}", userEmail);
+            VerifiedToken token = jwtService.validateToken(authHeader.substring(7));
+            userEmail = token.subject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                log.info("User loaded: {} with authorities: {}", userEmail, userDetails.getAuthorities());
-                
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                UserDetails userDetails = resolvePrincipal(token);
+
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -67,21 +92,82 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.info("✓ User {} authenticated successfully with authorities: {}", userEmail, userDetails.getAuthorities());
-                } else {
-                    log.error("✗ Token is NOT VALID for user: {}", userEmail);
+                    request.setAttribute(AccessLogFilter.USER_ATTRIBUTE,
+                            userDetails instanceof AuthenticatedUser principal ? principal.getId() : userEmail);
+                    outcome = "authenticated";
                 }
-            } else if (userEmail == null) {
-                log.error("✗ Could not extract username from token");
-            } else {
-                log.info("User {} already authenticated", userEmail);
+            } else if (userEmail != null) {
+                outcome = "authenticated";
             }
         } catch (Exception e) {
-            log.error("✗ Error processing JWT token: {} - {}", e.getClass().getSimpleName(), e.getMessage());
-            e.printStackTrace();
+            if (isDatabaseFailure(e)) {
+                // Sin BD no se puede validar el token (p. ej. sin turno en AdmissionControlDataSource):
+                // 503 rápido, no un 401/403 que el cliente tomaría por una sesión caducada
+                log.warn("JWT not checked for {} {}: database unavailable ({})",
+                        request.getMethod(), request.getRequestURI(), e.getMessage());
+                sample.stop(authTimer("unavailable"));
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Base de datos saturada, inténtalo de nuevo");
+                return;
+            }
+            // Token inválido o expirado: la request sigue como anónima y la seguridad responde 401/403
+            failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.debug("JWT rejected for {} {}: {}", request.getMethod(), request.getRequestURI(), failure);
         }
-        
-        log.info("========================================");
+
+        if (requestTracingService.isTraced(request, userEmail)) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            requestTracingService.trace("{} {}: user={} outcome={} authorities={}{}",
+                    request.getMethod(), request.getRequestURI(), userEmail, outcome,
+                    authentication != null ? authentication.getAuthorities() : "[]",
+                    failure != null ? " error=" + failure : "");
+        }
+        sample.stop(authTimer(outcome));
         filterChain.doFilter(request, response);
     }
+
+    private Timer authTimer(String outcome) {
+        return Timer.builder("taskflow.auth.filter")
+                .description("Autenticación JWT por request")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static boolean isDatabaseFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessException || cause instanceof TransactionException || cause instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String resolveAuthorization(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header == null && TOKEN_PARAM_PATH.equals(request.getRequestURI())) {
+            String token = request.getParameter(TOKEN_PARAM);
+            return token != null ? "Bearer " + token : null;
+        }
+        return header;
+    }
+
+    /**
+     * Obtiene el principal del token, o null si el token ya no es válido para ese usuario.
+     * La firma y la expiración ya se verificaron en {@link JwtService#validateToken}.
+     */
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (!statelessPrincipal || token.userId() == null || token.securityVersion() == null) {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
+            return token.subject().equals(userDetails.getUsername()) && userDetails.isEnabled() ? userDetails : null;
+        }
+
+        Optional<AuthenticatedUser> current = principalCache.get(token.userId());
+        if (current.isEmpty()) {
+            return null;
+        }
+        AuthenticatedUser principal = current.get();
+        boolean valid = principal.isActive()
+                && principal.getSecurityVersion() == token.securityVersion()
+                && principal.getEmail().equals(token.subject());
+        return valid ? principal : null;
+    }
 }
@@ -1,40 +1,128 @@
 package com.taskflow.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.taskflow.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * Servicio para la gestión de tokens JWT.
+ * La clave y el parser se construyen una sola vez; los tokens ya verificados se guardan
+ * en una caché acotada (por digest SHA-256) hasta su expiración para no repetir el HMAC.
  */
 @Slf4j
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    // Fuera de Spring (benchmarks) se usa el registro global, que sin registros añadidos no publica nada
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private SecretKey signInKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+    private Timer parseTimer;
+    private Counter tokenCacheHits;
+    private Counter tokenCacheMisses;
+
+    @PostConstruct
+    public void init() {
+        this.signInKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMillis = token.expiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.parseTimer = Timer.builder("taskflow.jwt.parse")
+                .description("Verificación de firma y parseo de un JWT")
+                .register(meterRegistry);
+        this.tokenCacheHits = Counter.builder("taskflow.jwt.token.cache").tag("result", "hit").register(meterRegistry);
+        this.tokenCacheMisses = Counter.builder("taskflow.jwt.token.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Verifica firma y expiración una sola vez y devuelve los datos del principal.
+     * Lanza JwtException si el token no es válido o ha expirado.
+     */
+    public VerifiedToken validateToken(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            tokenCacheHits.increment();
+            return cached;
+        }
+        tokenCacheMisses.increment();
+
+        // El parser ya rechaza firmas inválidas y tokens expirados
+        VerifiedToken verified = toVerifiedToken(extractAllClaims(token));
+        // Sin expiración no se puede acotar su vida en caché
+        if (verified.expiration() != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
+    }
+
     public String extractUsername(String token) {
         try {
-            String username = extractClaim(token, Claims::getSubject);
+            String username = validateToken(token).subject();
             log.debug("Extracted username: {}", username);
             return username;
         } catch (Exception e) {
-            log.error("Error extracting username from token: {}", e.getMessage());
+            log.debug("Error extracting username from token: {}", e.getMessage());
             throw e;
         }
     }
@@ -48,60 +136,81 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    /**
+     * Genera un token que transporta ID, rol y versión de seguridad del usuario,
+     * de modo que el filtro pueda autenticar sin cargar el usuario completo.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        return Jwts.builder()
+                .claims(claims)
+                .subject(user.getEmail())
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signInKey)
+                .compact();
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return Jwts.builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
+            final String username = validateToken(token).subject();
             boolean usernameMatches = username.equals(userDetails.getUsername());
-            boolean notExpired = !isTokenExpired(token);
-            
-            log.debug("Token validation - Username from token: {}, Expected: {}, Match: {}", 
+
+            log.debug("Token validation - Username from token: {}, Expected: {}, Match: {}",
                 username, userDetails.getUsername(), usernameMatches);
-            log.debug("Token validation - Expired: {}, Valid: {}", !notExpired, usernameMatches && notExpired);
-            
-            return usernameMatches && notExpired;
+
+            return usernameMatches;
         } catch (Exception e) {
-            log.error("Error validating token: {}", e.getMessage());
+            log.debug("Error validating token: {}", e.getMessage());
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     private Claims extractAllClaims(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             log.debug("Parsing JWT token...");
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSignInKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            log.debug("JWT parsed successfully - Subject: {}, Expiration: {}", 
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            log.debug("JWT parsed successfully - Subject: {}, Expiration: {}",
                 claims.getSubject(), claims.getExpiration());
             return claims;
         } catch (Exception e) {
-            log.error("Error parsing JWT token: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+            log.debug("Error parsing JWT token: {} - {}", e.getClass().getSimpleName(), e.getMessage());
             throw e;
+        } finally {
+            sample.stop(parseTimer);
         }
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.get(CLAIM_ROLE, String.class),
+                claims.get(CLAIM_SECURITY_VERSION, Long.class),
+                claims.getExpiration()
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 }
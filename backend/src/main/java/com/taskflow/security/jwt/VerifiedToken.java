@@ -0,0 +1,20 @@
+package com.taskflow.security.jwt;
+
+import java.util.Date;
+
+/**
+ * Resultado de verificar un JWT una sola vez: firma y expiración ya comprobadas.
+ * userId y securityVersion son null en tokens emitidos antes de incluir esos claims.
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        String role,
+        Long securityVersion,
+        Date expiration
+) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskflow.service;
+
+import com.taskflow.dto.ActiveSession;
+import com.taskflow.repository.TimeLogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sesiones de tiempo abiertas por usuario, en memoria.
+ * Se carga al arrancar desde los time_logs sin endTime y se actualiza en cada inicio y cierre,
+ * de modo que consultar la sesión activa no toca la BD.
+ *
+ * Todas las transiciones son compare-and-set sobre la entrada del usuario: iniciar reserva
+ * la entrada antes de insertar y la confirma tras el commit, y cerrar solo tiene éxito para quien la retira primero.
+ * El registro es local a la instancia (se asume un único backend).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActiveSessionRegistry {
+
+    private final TimeLogRepository timeLogRepository;
+
+    private final ConcurrentMap<Long, Entry> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Entrada con identidad propia: session == null indica un inicio en curso (reserva).
+     */
+    public static final class Entry {
+        private final Long userId;
+        private final ActiveSession session;
+
+        private Entry(Long userId, ActiveSession session) {
+            this.userId = userId;
+            this.session = session;
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        for (ActiveSession session : timeLogRepository.findActiveSessions()) {
+            // Ordenadas por inicio: si hay datos inconsistentes se queda la más reciente
+            Entry previous = sessions.put(session.userId(), new Entry(session.userId(), session));
+            if (previous != null) {
+                log.warn("User {} has more than one open time log ({} and {})",
+                        session.userId(), previous.session.id(), session.id());
+            }
+        }
+        log.info("Loaded {} active time sessions", sessions.size());
+    }
+
+    public Optional<ActiveSession> get(Long userId) {
+        Entry entry = sessions.get(userId);
+        return entry != null ? Optional.ofNullable(entry.session) : Optional.empty();
+    }
+
+    /**
+     * Reserva la entrada del usuario antes de crear la sesión.
+     * Devuelve null si ya tiene una sesión activa o un inicio en curso.
+     */
+    public Entry reserve(Long userId) {
+        Entry reservation = new Entry(userId, null);
+        return sessions.putIfAbsent(userId, reservation) == null ? reservation : null;
+    }
+
+    /**
+     * Sustituye la reserva por la sesión ya creada.
+     */
+    public ActiveSession confirm(Entry reservation, ActiveSession session) {
+        sessions.replace(reservation.userId, reservation, new Entry(reservation.userId, session));
+        return session;
+    }
+
+    /**
+     * Libera una reserva cuyo inicio falló.
+     */
+    public void cancel(Entry reservation) {
+        sessions.remove(reservation.userId, reservation);
+    }
+
+    /**
+     * Retira la sesión solo si sigue siendo la esperada; false si otra request ya la cerró.
+     */
+    public boolean remove(Long userId, ActiveSession expected) {
+        AtomicBoolean removed = new AtomicBoolean();
+        sessions.computeIfPresent(userId, (id, entry) -> {
+            if (entry.session == expected) {
+                removed.set(true);
+                return null;
+            }
+            return entry;
+        });
+        return removed.get();
+    }
+
+    /**
+     * Vuelve a registrar una sesión cuyo cierre se revirtió.
+     */
+    public void restore(ActiveSession session) {
+        sessions.putIfAbsent(session.userId(), new Entry(session.userId(), session));
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -6,30 +6,27 @@ import com.taskflow.dto.RegisterRequest;
 import com.taskflow.entity.User;
 import com.taskflow.entity.UserRole;
 import com.taskflow.repository.UserRepository;
+import com.taskflow.security.PasswordVerifier;
 import com.taskflow.security.jwt.JwtService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Servicio para gestionar la autenticación y registro de usuarios.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
 
     /**
      * Registra un nuevo usuario en el sistema.
@@ -52,11 +49,8 @@ public class AuthService {
 
         userRepository.save(user);
 
-        // Generar token JWT
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
-        String token = jwtService.generateToken(claims, userDetails);
+        // Generar token JWT (incluye ID, rol y versión de seguridad)
+        String token = jwtService.generateToken(user);
 
         return AuthResponse.builder()
                 .token(token)
@@ -68,20 +62,28 @@ public class AuthService {
     }
 
     /**
-     * Autentica un usuario existente.
+     * Autentica un usuario existente con una sola búsqueda por email.
+     * La contraseña se comprueba en {@link PasswordVerifier} (503 si está saturado) y,
+     * si el hash usa un formato o coste anterior al configurado, se guarda de nuevo.
      */
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        PasswordVerifier.Result result = passwordVerifier.verify(request.getPassword(),
+                user != null ? user.getPassword() : null);
+        if (!result.matches()) {
+            throw new BadCredentialsException("Credenciales incorrectas");
+        }
+        if (!user.isActive()) {
+            throw new DisabledException("Usuario desactivado");
+        }
+        if (result.upgradedHash() != null) {
+            // Mismo password con otro hash: no cambia la versión de seguridad ni invalida tokens
+            user.setPassword(result.upgradedHash());
+            user = userRepository.save(user);
+            log.debug("Password hash upgraded for user {}", user.getId());
+        }
 
-        User user = userRepository.findByEmail(request.getEmail()).orElseThrow();
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
-        
-        String token = jwtService.generateToken(claims, userDetails);
+        String token = jwtService.generateToken(user);
 
         return AuthResponse.builder()
                 .token(token)
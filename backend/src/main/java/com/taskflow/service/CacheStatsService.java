@@ -0,0 +1,62 @@
+package com.taskflow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Aciertos, fallos y tamaño de las regiones de la caché de segundo nivel (Caffeine JCache).
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Estadísticas de cada región, ordenadas por nombre.
+     */
+    public Map<String, Map<String, Object>> getRegionStats() {
+        CacheManager cacheManager = getCacheManager();
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        TreeSet<String> names = new TreeSet<>();
+        cacheManager.getCacheNames().forEach(names::add);
+        for (String name : names) {
+            Cache<?, ?> cache = getNativeCache(name);
+            CacheStats stats = cache.stats();
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("size", cache.estimatedSize());
+            region.put("hits", stats.hitCount());
+            region.put("misses", stats.missCount());
+            region.put("hitRate", stats.hitRate());
+            region.put("evictions", stats.evictionCount());
+            result.put(name, region);
+        }
+        return result;
+    }
+
+    /**
+     * Caché Caffeine subyacente de una región (para estadísticas o métricas).
+     */
+    @SuppressWarnings("unchecked")
+    public Cache<?, ?> getNativeCache(String region) {
+        return getCacheManager().getCache(region).unwrap(Cache.class);
+    }
+
+    private CacheManager getCacheManager() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(RegionFactory.class);
+        return ((JCacheRegionFactory) regionFactory).getCacheManager();
+    }
+}
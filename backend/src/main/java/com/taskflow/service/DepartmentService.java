@@ -1,13 +1,20 @@
 package com.taskflow.service;
 
+import com.taskflow.dto.DepartmentMemberRow;
+import com.taskflow.dto.DepartmentResponse;
 import com.taskflow.entity.Department;
 import com.taskflow.exception.ResourceNotFoundException;
 import com.taskflow.repository.DepartmentRepository;
+import com.taskflow.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para gestionar departamentos.
@@ -17,6 +24,7 @@ import java.util.List;
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final UserRepository userRepository;
 
     @Transactional
     public Department createDepartment(Department department) {
@@ -28,6 +36,30 @@ public class DepartmentService {
         return departmentRepository.findAll();
     }
 
+    /**
+     * Todos los departamentos con sus usuarios: dos consultas en total,
+     * los usuarios se agrupan en memoria por departamento.
+     */
+    @Transactional(readOnly = true)
+    public List<DepartmentResponse> getAllDepartmentResponses() {
+        Map<Long, List<DepartmentResponse.UserSummary>> usersByDepartment = userRepository.findAllDepartmentMembers()
+                .stream()
+                .collect(Collectors.groupingBy(DepartmentMemberRow::getDepartmentId,
+                        Collectors.mapping(DepartmentMemberRow::toSummary, Collectors.toList())));
+        return departmentRepository.findAll(Sort.by("id")).stream()
+                .map(dept -> DepartmentResponse.fromEntity(dept,
+                        usersByDepartment.getOrDefault(dept.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Todos los departamentos solo con usersCount (users = null).
+     */
+    @Transactional(readOnly = true)
+    public List<DepartmentResponse> getAllDepartmentCounts() {
+        return departmentRepository.findAllWithUserCounts();
+    }
+
     @Transactional(readOnly = true)
     public Department getDepartmentById(Long id) {
         return departmentRepository.findById(id)
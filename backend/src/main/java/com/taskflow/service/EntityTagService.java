@@ -0,0 +1,91 @@
+package com.taskflow.service;
+
+import com.taskflow.entity.Department;
+import com.taskflow.entity.User;
+import com.taskflow.repository.DepartmentRepository;
+import com.taskflow.repository.TaskRepository;
+import com.taskflow.repository.TimeRollupRepository;
+import com.taskflow.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Valores de ETag de los listados y detalles de tareas, usuarios y departamentos.
+ * Se calculan con agregados baratos ({@link com.taskflow.dto.DataStamp}) de todas las tablas
+ * que aparecen en la respuesta, sin cargar ni serializar entidades: si el cliente envía
+ * un If-None-Match que coincide se responde 304 sin hacer nada más.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityTagService {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TimeRollupRepository timeRollupRepository;
+
+    /**
+     * GET /api/tasks: tareas, nombres de usuarios y departamentos y tiempo total registrado.
+     * fields son los campos pedidos con ?fields= (null para la respuesta completa).
+     */
+    @Transactional(readOnly = true)
+    public String tasks(List<String> fields) {
+        return tag("tasks", fields, taskRepository.getDataStamp(), userRepository.getDataStamp(),
+                departmentRepository.getDataStamp(), timeRollupRepository.getDataStamp());
+    }
+
+    /**
+     * GET /api/tasks/{id}, o null si la tarea no existe (la request sigue y responde 404).
+     */
+    @Transactional(readOnly = true)
+    public String task(Long id) {
+        return taskRepository.getDataStampById(id).map(stamp -> tag("task", id, stamp)).orElse(null);
+    }
+
+    /**
+     * GET /api/users: cada usuario incluye su departamento (fields como en {@link #tasks}).
+     */
+    @Transactional(readOnly = true)
+    public String users(List<String> fields) {
+        return tag("users", fields, userRepository.getDataStamp(), departmentRepository.getDataStamp());
+    }
+
+    /**
+     * GET /api/users/{id}, a partir del usuario ya cargado (sale de la caché de segundo nivel).
+     */
+    public String user(User user) {
+        Department department = user.getDepartment();
+        return tag("user", user.getId(), user.getUpdatedAt(),
+                department != null ? department.getId() : null,
+                department != null ? department.getUpdatedAt() : null);
+    }
+
+    /**
+     * GET /api/departments (con o sin include=counts): departamentos y sus miembros.
+     */
+    @Transactional(readOnly = true)
+    public String departments(String include) {
+        return tag("departments", include, departmentRepository.getDataStamp(), userRepository.getDataStamp());
+    }
+
+    /**
+     * GET /api/departments/{id}: el departamento ya cargado y el resumen de sus miembros.
+     */
+    @Transactional(readOnly = true)
+    public String department(Department department) {
+        return tag("department", department.getId(), department.getUpdatedAt(),
+                userRepository.getDataStampByDepartmentId(department.getId()));
+    }
+
+    private static String tag(Object... parts) {
+        String stamp = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return DigestUtils.md5DigestAsHex(stamp.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskflow.service;
+
+import com.taskflow.dto.DepartmentReport;
+import com.taskflow.dto.ReportsResponse;
+import com.taskflow.dto.TaskReport;
+import com.taskflow.dto.UserReport;
+import com.taskflow.exception.BusinessException;
+import com.taskflow.repository.DepartmentRepository;
+import com.taskflow.repository.TaskRepository;
+import com.taskflow.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reportes de administración calculados en base de datos (GROUP BY sobre time_rollups y tasks).
+ * El rango de fechas es opcional y solo afecta a las horas; los contadores de tareas son el estado actual.
+ * Cada consulta del repositorio abre su propia transacción de solo lectura.
+ * Los extremos ausentes se sustituyen por fechas límite para que la consulta siempre use BETWEEN.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    private final UserRepository userRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TaskRepository taskRepository;
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    public List<UserReport> getUserReport(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return userRepository.getUserReport(lower(from), upper(to));
+    }
+
+    public List<DepartmentReport> getDepartmentReport(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return departmentRepository.getDepartmentReport(lower(from), upper(to));
+    }
+
+    public List<TaskReport> getTaskReport(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return taskRepository.getTaskReport(lower(from), upper(to));
+    }
+
+    /**
+     * Calcula los tres reportes en paralelo, uno por hilo virtual (y por conexión del pool).
+     */
+    public ReportsResponse getAllReports(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        LocalDate start = lower(from);
+        LocalDate end = upper(to);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<List<UserReport>> users =
+                    CompletableFuture.supplyAsync(() -> userRepository.getUserReport(start, end), executor);
+            CompletableFuture<List<DepartmentReport>> departments =
+                    CompletableFuture.supplyAsync(() -> departmentRepository.getDepartmentReport(start, end), executor);
+            CompletableFuture<List<TaskReport>> tasks =
+                    CompletableFuture.supplyAsync(() -> taskRepository.getTaskReport(start, end), executor);
+
+            return ReportsResponse.builder()
+                    .from(from)
+                    .to(to)
+                    .users(users.join())
+                    .departments(departments.join())
+                    .tasks(tasks.join())
+                    .build();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static LocalDate lower(LocalDate from) {
+        return from != null ? from : MIN_DATE;
+    }
+
+    private static LocalDate upper(LocalDate to) {
+        return to != null ? to : MAX_DATE;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("Rango de fechas inválido");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskflow.service;
+
+import com.taskflow.dto.TracingSettings;
+import com.taskflow.exception.BusinessException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide qué requests escriben las trazas detalladas (autenticación y /time-logs/start).
+ * Se activa en caliente desde /api/tracing por usuario, ruta y muestreo, y caduca sola.
+ * La decisión se toma una vez por request y se guarda como atributo.
+ */
+@Slf4j
+@Service
+public class RequestTracingService {
+
+    private static final String TRACED_ATTRIBUTE = RequestTracingService.class.getName() + ".traced";
+
+    // Logger propio a INFO (logback-spring.xml): las trazas salen aunque com.taskflow esté en WARN
+    private static final Logger TRACE_LOG = LoggerFactory.getLogger("com.taskflow.trace");
+
+    private volatile Rule rule = Rule.DISABLED;
+
+    @Value("${app.tracing.default-duration:15m}")
+    private Duration defaultDuration;
+
+    @Value("${app.tracing.max-duration:60m}")
+    private Duration maxDuration;
+
+    /**
+     * Indica si la request se traza; la primera llamada decide (con el usuario si ya se conoce).
+     */
+    public boolean isTraced(HttpServletRequest request, String user) {
+        if (request.getAttribute(TRACED_ATTRIBUTE) instanceof Boolean traced) {
+            return traced;
+        }
+        boolean traced = rule.matches(request.getRequestURI(), user);
+        request.setAttribute(TRACED_ATTRIBUTE, traced);
+        return traced;
+    }
+
+    /**
+     * Decisión ya tomada para la request (false si nadie la evaluó).
+     */
+    public boolean wasTraced(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(TRACED_ATTRIBUTE));
+    }
+
+    /**
+     * Escribe una traza; solo se llama en requests para las que {@link #isTraced} devolvió true.
+     */
+    public void trace(String format, Object... args) {
+        TRACE_LOG.info(format, args);
+    }
+
+    public TracingSettings getSettings() {
+        Rule current = rule;
+        if (!current.isActive()) {
+            return TracingSettings.builder().enabled(false).build();
+        }
+        return TracingSettings.builder()
+                .enabled(true)
+                .sampleRate(current.sampleRate())
+                .users(current.users())
+                .routes(current.routes())
+                .expiresAt(current.expiresAt())
+                .build();
+    }
+
+    public TracingSettings enable(TracingSettings settings) {
+        double sampleRate = settings.getSampleRate() != null ? settings.getSampleRate() : 1.0;
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new BusinessException("sampleRate debe estar entre 0 (excluido) y 1");
+        }
+        Duration duration = settings.getDurationMinutes() != null
+                ? Duration.ofMinutes(settings.getDurationMinutes())
+                : defaultDuration;
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new BusinessException("durationMinutes debe estar entre 1 y " + maxDuration.toMinutes());
+        }
+
+        rule = new Rule(sampleRate,
+                settings.getUsers() != null ? Set.copyOf(settings.getUsers()) : Set.of(),
+                settings.getRoutes() != null ? List.copyOf(settings.getRoutes()) : List.of(),
+                Instant.now().plus(duration));
+        log.info("Request tracing enabled: sampleRate={}, users={}, routes={}, until {}",
+                sampleRate, rule.users(), rule.routes(), rule.expiresAt());
+        return getSettings();
+    }
+
+    public void disable() {
+        rule = Rule.DISABLED;
+        log.info("Request tracing disabled");
+    }
+
+    private record Rule(double sampleRate, Set<String> users, List<String> routes, Instant expiresAt) {
+
+        static final Rule DISABLED = new Rule(0, Set.of(), List.of(), Instant.EPOCH);
+
+        boolean isActive() {
+            return sampleRate > 0 && Instant.now().isBefore(expiresAt);
+        }
+
+        boolean matches(String uri, String user) {
+            if (sampleRate == 0 || !isActive()) {
+                return false;
+            }
+            if (!users.isEmpty() && (user == null || !users.contains(user))) {
+                return false;
+            }
+            if (!routes.isEmpty() && routes.stream().noneMatch(uri::startsWith)) {
+                return false;
+            }
+            return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package com.taskflow.service;
 
+import com.taskflow.dto.TaskBatchItem;
+import com.taskflow.dto.TaskBatchResponse;
+import com.taskflow.dto.TaskCursor;
+import com.taskflow.dto.TaskFilter;
+import com.taskflow.dto.TaskPageResponse;
+import com.taskflow.dto.TaskResponse;
+import com.taskflow.dto.TimerEvent;
 import com.taskflow.entity.Department;
 import com.taskflow.entity.Task;
 import com.taskflow.entity.TaskStatus;
+import com.taskflow.entity.TimeLog;
 import com.taskflow.entity.User;
+import com.taskflow.exception.BusinessException;
 import com.taskflow.exception.ResourceNotFoundException;
 import com.taskflow.repository.DepartmentRepository;
 import com.taskflow.repository.TaskRepository;
 import com.taskflow.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Servicio para gestionar la lógica de las tareas.
@@ -27,6 +43,15 @@ public class TaskService {
     private final TimeLogService timeLogService;
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EntityManager entityManager;
+
+    @Value("${app.tasks.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.tasks.max-batch-size:5000}")
+    private int maxBatchSize;
 
     /**
      * Crea una nueva tarea.
@@ -55,6 +80,111 @@ public class TaskService {
         return taskRepository.save(task);
     }
 
+    /**
+     * Crea muchas tareas en una sola transacción.
+     * Departamentos y usuarios referenciados se validan con dos consultas IN; las filas inválidas
+     * se devuelven como errores y el resto se inserta en lotes JDBC (IDs de secuencia pooled).
+     */
+    @Transactional
+    public TaskBatchResponse createTasks(List<TaskBatchItem> items, User requester) {
+        if (items == null || items.isEmpty()) {
+            throw new BusinessException("La lista de tareas está vacía");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new BusinessException("Máximo " + maxBatchSize + " tareas por lote");
+        }
+
+        Set<Long> departmentIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (TaskBatchItem item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.getDepartmentId() != null) {
+                departmentIds.add(item.getDepartmentId());
+            }
+            if (item.getAssigneeId() != null) {
+                userIds.add(item.getAssigneeId());
+            }
+        }
+        Set<Long> existingDepartments = departmentIds.isEmpty()
+                ? Set.of() : new HashSet<>(departmentRepository.findExistingIds(departmentIds));
+        Set<Long> existingUsers = userIds.isEmpty()
+                ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+
+        List<TaskBatchResponse.RowError> errors = new ArrayList<>();
+        List<Long> createdIds = new ArrayList<>(items.size());
+        List<Task> chunk = new ArrayList<>(Task.ID_ALLOCATION_SIZE);
+        // El requester se re-adjunta en cada lote porque el contexto se limpia tras cada flush
+        Long requesterId = requester.getId();
+
+        for (int i = 0; i < items.size(); i++) {
+            TaskBatchItem item = items.get(i);
+            String error = validateBatchItem(item, existingDepartments, existingUsers);
+            if (error != null) {
+                errors.add(new TaskBatchResponse.RowError(i, error));
+                continue;
+            }
+
+            chunk.add(Task.builder()
+                    .title(item.getTitle().trim())
+                    .description(item.getDescription())
+                    .status(item.getStatus() != null ? item.getStatus() : TaskStatus.PENDING)
+                    .priority(item.getPriority())
+                    .department(departmentRepository.getReferenceById(item.getDepartmentId()))
+                    .assignee(item.getAssigneeId() != null ? userRepository.getReferenceById(item.getAssigneeId()) : null)
+                    .requester(userRepository.getReferenceById(requesterId))
+                    .build());
+            if (chunk.size() == Task.ID_ALLOCATION_SIZE) {
+                flushBatch(chunk, createdIds);
+            }
+        }
+        flushBatch(chunk, createdIds);
+
+        return TaskBatchResponse.builder()
+                .received(items.size())
+                .created(createdIds.size())
+                .createdIds(createdIds)
+                .errors(errors)
+                .build();
+    }
+
+    private String validateBatchItem(TaskBatchItem item, Set<Long> existingDepartments, Set<Long> existingUsers) {
+        if (item == null) {
+            return "Fila vacía";
+        }
+        if (item.getTitle() == null || item.getTitle().isBlank()) {
+            return "El título es obligatorio";
+        }
+        if (item.getPriority() == null) {
+            return "La prioridad es obligatoria";
+        }
+        if (item.getDepartmentId() == null) {
+            return "El departamento es obligatorio";
+        }
+        if (!existingDepartments.contains(item.getDepartmentId())) {
+            return "Departamento no encontrado: " + item.getDepartmentId();
+        }
+        if (item.getAssigneeId() != null && !existingUsers.contains(item.getAssigneeId())) {
+            return "Usuario asignado no encontrado: " + item.getAssigneeId();
+        }
+        return null;
+    }
+
+    /**
+     * Inserta un lote (un solo executeBatch con hibernate.jdbc.batch_size) y libera el contexto de persistencia.
+     */
+    private void flushBatch(List<Task> chunk, List<Long> createdIds) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        taskRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.forEach(task -> createdIds.add(task.getId()));
+        chunk.clear();
+    }
+
     /**
      * Obtiene todas las tareas.
      */
@@ -122,7 +252,8 @@ public class TaskService {
         task.setStatus(TaskStatus.IN_PROGRESS);
         task.setAssignee(user);
         
-        timeLogService.startTimeLog(user, task);
+        TimeLog timeLog = timeLogService.startTimeLog(user, task);
+        eventPublisher.publishEvent(TimerEvent.of(TimerEvent.STARTED, timeLog));
         
         return taskRepository.save(task);
     }
@@ -135,7 +266,8 @@ public class TaskService {
         Task task = getTaskById(taskId);
         task.setStatus(TaskStatus.PENDING);
         
-        timeLogService.stopTimeLog(user);
+        TimeLog timeLog = timeLogService.stopTimeLog(user);
+        eventPublisher.publishEvent(TimerEvent.of(TimerEvent.STOPPED, timeLog));
         
         return taskRepository.save(task);
     }
@@ -150,7 +282,8 @@ public class TaskService {
         
         // Intentar detener el tiempo si hay uno activo (no fallar si no hay)
         try {
-            timeLogService.stopTimeLog(user);
+            TimeLog timeLog = timeLogService.stopTimeLog(user);
+            eventPublisher.publishEvent(TimerEvent.of(TimerEvent.STOPPED, timeLog));
         } catch (Exception e) {
             // No hay time log activo, está bien continuar
         }
@@ -175,6 +308,89 @@ public class TaskService {
         return taskRepository.findByAssigneeId(assigneeId);
     }
 
+    /**
+     * Obtiene todas las tareas ya proyectadas a TaskResponse (una sola consulta).
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTaskResponses() {
+        return taskRepository.findAllResponses();
+    }
+
+    /**
+     * Obtiene una tarea ya proyectada a TaskResponse, con el tiempo total registrado (una sola consulta).
+     */
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskResponse(Long id) {
+        return taskRepository.findResponsesByIdIn(List.of(id)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Tarea no encontrada con ID: " + id));
+    }
+
+    /**
+     * Valida ?fields= contra los campos declarados para tareas (400 si alguno no existe).
+     */
+    public List<String> validateFields(List<String> fields) {
+        return TaskRepository.FIELDS.validate(fields);
+    }
+
+    /**
+     * Obtiene todas las tareas con solo los campos pedidos (consulta de proyección, sin cargar entidades).
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllTaskFields(List<String> fields) {
+        return taskRepository.findFields(fields);
+    }
+
+    /**
+     * Lista tareas de un departamento proyectadas a TaskResponse (una sola consulta).
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTaskResponsesByDepartment(Long departmentId) {
+        return taskRepository.findResponsesByDepartmentId(departmentId);
+    }
+
+    /**
+     * Lista tareas asignadas a un usuario proyectadas a TaskResponse (una sola consulta).
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTaskResponsesByAssignee(Long assigneeId) {
+        return taskRepository.findResponsesByAssigneeId(assigneeId);
+    }
+
+    /**
+     * Lista tareas paginadas por keyset con filtros del lado del servidor.
+     * Dos consultas acotadas por el tamaño de página: IDs ordenados y su proyección.
+     */
+    @Transactional(readOnly = true)
+    public TaskPageResponse getTaskPage(TaskFilter filter, String cursor, int size) {
+        if (!"updatedAt".equals(filter.getSort()) && !filter.isSortByPriority()) {
+            throw new BusinessException("Orden no soportado: " + filter.getSort());
+        }
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        TaskCursor after = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor) : null;
+
+        List<Long> ids = taskRepository.findPageIds(filter, after, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        Map<Long, TaskResponse> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            taskRepository.findResponsesByIdIn(ids).forEach(t -> byId.put(t.getId(), t));
+        }
+        List<TaskResponse> items = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+        String nextCursor = hasMore && !items.isEmpty()
+                ? TaskCursor.after(items.get(items.size() - 1), filter.isSortByPriority()).encode()
+                : null;
+        return TaskPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(items.size())
+                .build();
+    }
+
     /**
      * Obtiene estadísticas de tareas.
      */
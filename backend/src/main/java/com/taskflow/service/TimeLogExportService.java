@@ -0,0 +1,138 @@
+package com.taskflow.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskflow.dto.TimeLogExportRow;
+import com.taskflow.exception.BusinessException;
+import com.taskflow.repository.TimeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de registros de tiempo en CSV o NDJSON con memoria constante.
+ * Las filas se escriben según se leen del cursor JDBC, sin materializar la lista.
+ */
+@Slf4j
+@Service
+public class TimeLogExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String CSV_HEADER = "id,userId,userEmail,userFirstName,userLastName,taskId,taskTitle,"
+            + "departmentName,startTime,endTime,durationMinutes";
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TimeLogRepository timeLogRepository;
+    private final ObjectWriter ndjsonWriter;
+
+    public TimeLogExportService(TimeLogRepository timeLogRepository, ObjectMapper objectMapper) {
+        this.timeLogRepository = timeLogRepository;
+        this.ndjsonWriter = objectMapper.copy()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writerFor(TimeLogExportRow.class);
+    }
+
+    /**
+     * Valida los parámetros antes de abrir la respuesta (los errores aún pueden devolver 400).
+     */
+    public void validate(LocalDate from, LocalDate to, String format) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BusinessException("Rango de fechas inválido");
+        }
+        if (!FORMAT_CSV.equals(format) && !FORMAT_NDJSON.equals(format)) {
+            throw new BusinessException("Formato no soportado: " + format);
+        }
+    }
+
+    /**
+     * Escribe los registros cuyo inicio está entre from y to (ambos días incluidos).
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDate from, LocalDate to, String format, OutputStream out) throws IOException {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        boolean csv = FORMAT_CSV.equals(format);
+        long rows = 0;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<TimeLogExportRow> stream = timeLogRepository.streamForExport(start, end)) {
+            Iterator<TimeLogExportRow> it = stream.iterator();
+            while (it.hasNext()) {
+                TimeLogExportRow row = it.next();
+                if (csv) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(ndjsonWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} time logs ({}) from {} to {}", rows, format, from, to);
+        return rows;
+    }
+
+    private static void writeCsv(Writer writer, TimeLogExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getUserId()));
+        writer.write(',');
+        writer.write(csvField(row.getUserEmail()));
+        writer.write(',');
+        writer.write(csvField(row.getUserFirstName()));
+        writer.write(',');
+        writer.write(csvField(row.getUserLastName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getTaskId()));
+        writer.write(',');
+        writer.write(csvField(row.getTaskTitle()));
+        writer.write(',');
+        writer.write(csvField(row.getDepartmentName()));
+        writer.write(',');
+        writer.write(row.getStartTime() != null ? row.getStartTime().toString() : "");
+        writer.write(',');
+        writer.write(row.getEndTime() != null ? row.getEndTime().toString() : "");
+        writer.write(',');
+        writer.write(row.getDurationMinutes() != null ? row.getDurationMinutes().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Campo de texto CSV. Los valores que empiezan por =, +, -, @, tabulador o retorno de carro
+     * se prefijan con ' para que una hoja de cálculo no los evalúe como fórmula
+     * (nombres y títulos los escribe el usuario).
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
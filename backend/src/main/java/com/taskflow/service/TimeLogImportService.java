@@ -0,0 +1,515 @@
+package com.taskflow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskflow.dto.TimeLogImportResponse;
+import com.taskflow.dto.TimeLogImportRow;
+import com.taskflow.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Importación de registros de tiempo cerrados (CSV o NDJSON) desde otros gestores de tiempo.
+ * El fichero se lee en streaming y se procesa en bloques de commit-size filas, cada uno en su propia
+ * transacción: usuarios y tareas se resuelven con cachés acotadas (una consulta por bloque para los fallos),
+ * los solapamientos se comprueban contra time_logs (las sesiones abiertas cuentan hasta el infinito)
+ * y dentro del propio bloque, y los registros y sus acumulados diarios se insertan con lotes JDBC.
+ * La memoria no depende del tamaño del fichero.
+ */
+@Slf4j
+@Service
+public class TimeLogImportService {
+
+    private static final String INSERT_TIME_LOG_SQL = "INSERT INTO time_logs (user_id, task_id, start_time, end_time, duration_minutes) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    // Misma operación que TimeRollupRepository.addMinutes, con parámetros posicionales para batchUpdate
+    private static final String ADD_ROLLUP_SQL = "INSERT INTO time_rollups (user_id, task_id, department_id, log_date, minutes, entries) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, task_id, log_date) DO UPDATE SET "
+            + "minutes = time_rollups.minutes + EXCLUDED.minutes, "
+            + "entries = time_rollups.entries + EXCLUDED.entries";
+
+    // Índices (en el bloque) de las filas que se solapan con algún registro existente del mismo usuario.
+    // Los registros de un usuario no se solapan entre sí, así que basta con mirar el último que empieza
+    // antes del fin de la fila (una búsqueda en idx_time_logs_user_start por fila).
+    private static final String OVERLAP_SQL = "SELECT c.idx FROM unnest(?::int[], ?::bigint[], ?::timestamp[], ?::timestamp[]) "
+            + "AS c(idx, user_id, start_time, end_time) "
+            + "CROSS JOIN LATERAL (SELECT l.end_time FROM time_logs l WHERE l.user_id = c.user_id "
+            + "AND l.start_time < c.end_time ORDER BY l.start_time DESC LIMIT 1) p "
+            + "WHERE COALESCE(p.end_time, 'infinity'::timestamp) > c.start_time";
+
+    private static final String FIND_USERS_SQL = "SELECT email, id FROM users WHERE email = ANY(?)";
+    private static final String FIND_TASKS_SQL = "SELECT id, department_id FROM tasks WHERE id = ANY(?)";
+
+    private static final String[] CSV_COLUMNS = {"userEmail", "taskId", "startTime", "endTime"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader ndjsonReader;
+
+    @Value("${app.time-logs.import.commit-size:5000}")
+    private int commitSize;
+
+    @Value("${app.time-logs.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.time-logs.import.lookup-cache-size:10000}")
+    private long lookupCacheSize;
+
+    @Value("${app.time-logs.import.max-errors:1000}")
+    private int maxErrors;
+
+    public TimeLogImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ndjsonReader = objectMapper.readerFor(TimeLogImportRow.class);
+    }
+
+    public void validateFormat(String format) {
+        if (!TimeLogExportService.FORMAT_CSV.equals(format) && !TimeLogExportService.FORMAT_NDJSON.equals(format)) {
+            throw new BusinessException("Formato no soportado: " + format);
+        }
+    }
+
+    /**
+     * Importa el fichero completo. Los bloques ya confirmados se mantienen aunque uno posterior falle.
+     */
+    public TimeLogImportResponse importTimeLogs(InputStream in, String format) throws IOException {
+        validateFormat(format);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RowSource source = TimeLogExportService.FORMAT_CSV.equals(format) ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+        ImportRun run = new ImportRun();
+
+        List<Candidate> chunk = new ArrayList<>(commitSize);
+        ParsedRow parsed;
+        while ((parsed = source.next()) != null) {
+            run.received++;
+            if (parsed.error() != null) {
+                run.reject(parsed.line(), parsed.error());
+                continue;
+            }
+            chunk.add(new Candidate(parsed.line(), parsed.row()));
+            if (chunk.size() == commitSize) {
+                processChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        processChunk(chunk, run);
+
+        log.info("Imported time logs ({}): {} received, {} accepted, {} rejected",
+                format, run.received, run.accepted, run.rejected);
+        return TimeLogImportResponse.builder()
+                .received(run.received)
+                .accepted(run.accepted)
+                .rejected(run.rejected)
+                .errors(run.errors)
+                .errorsTruncated(run.rejected > run.errors.size())
+                .build();
+    }
+
+    private void processChunk(List<Candidate> chunk, ImportRun run) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Candidate> valid = resolve(chunk, run, now);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Candidate> accepted = removeOverlaps(valid, run);
+            jdbcTemplate.batchUpdate(INSERT_TIME_LOG_SQL, accepted, batchSize, (ps, c) -> {
+                ps.setLong(1, c.userId);
+                ps.setLong(2, c.taskId);
+                ps.setTimestamp(3, Timestamp.valueOf(c.startTime));
+                ps.setTimestamp(4, Timestamp.valueOf(c.endTime));
+                ps.setLong(5, c.minutes);
+            });
+            addRollups(accepted);
+            run.accepted += accepted.size();
+        });
+        log.debug("Time log import: {} rows processed, {} accepted so far", run.received, run.accepted);
+    }
+
+    /**
+     * Valida los campos y resuelve usuario y tarea de cada fila; devuelve las filas válidas.
+     */
+    private List<Candidate> resolve(List<Candidate> chunk, ImportRun run, LocalDateTime now) {
+        Set<String> emails = new HashSet<>();
+        Set<Long> taskIds = new HashSet<>();
+        for (Candidate c : chunk) {
+            if (c.email != null) {
+                emails.add(c.email);
+            }
+            if (c.taskId != null) {
+                taskIds.add(c.taskId);
+            }
+        }
+        Map<String, Optional<Long>> users = run.users.getAll(emails, this::findUserIds);
+        Map<Long, Optional<TaskRef>> tasks = run.tasks.getAll(taskIds, this::findTasks);
+
+        List<Candidate> valid = new ArrayList<>(chunk.size());
+        for (Candidate c : chunk) {
+            String error = validate(c, now);
+            if (error == null) {
+                Optional<Long> userId = users.getOrDefault(c.email, Optional.empty());
+                Optional<TaskRef> task = tasks.getOrDefault(c.taskId, Optional.empty());
+                if (userId.isEmpty()) {
+                    error = "Usuario no encontrado: " + c.email;
+                } else if (task.isEmpty()) {
+                    error = "Tarea no encontrada: " + c.taskId;
+                } else {
+                    c.userId = userId.get();
+                    c.departmentId = task.get().departmentId();
+                }
+            }
+            if (error != null) {
+                run.reject(c.line, error);
+            } else {
+                valid.add(c);
+            }
+        }
+        return valid;
+    }
+
+    private static String validate(Candidate c, LocalDateTime now) {
+        if (c.email == null || c.email.isBlank()) {
+            return "userEmail es obligatorio";
+        }
+        if (c.taskId == null) {
+            return "taskId es obligatorio";
+        }
+        if (c.startTime == null || c.endTime == null) {
+            return "startTime y endTime son obligatorios";
+        }
+        if (!c.endTime.isAfter(c.startTime)) {
+            return "endTime debe ser posterior a startTime";
+        }
+        if (c.endTime.isAfter(now)) {
+            return "No se pueden importar registros futuros";
+        }
+        c.minutes = Duration.between(c.startTime, c.endTime).toMinutes();
+        return null;
+    }
+
+    /**
+     * Descarta las filas que se solapan con registros existentes o con otra fila del mismo bloque.
+     * Los bloques anteriores ya están en time_logs, así que la consulta también los cubre.
+     */
+    private List<Candidate> removeOverlaps(List<Candidate> valid, ImportRun run) {
+        int size = valid.size();
+        Integer[] indexes = new Integer[size];
+        Long[] userIds = new Long[size];
+        Timestamp[] starts = new Timestamp[size];
+        Timestamp[] ends = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            Candidate c = valid.get(i);
+            indexes[i] = i;
+            userIds[i] = c.userId;
+            starts[i] = Timestamp.valueOf(c.startTime);
+            ends[i] = Timestamp.valueOf(c.endTime);
+        }
+        Set<Integer> overlapping = new HashSet<>();
+        jdbcTemplate.query(OVERLAP_SQL, ps -> {
+            setArray(ps, 1, "int4", indexes);
+            setArray(ps, 2, "int8", userIds);
+            setArray(ps, 3, "timestamp", starts);
+            setArray(ps, 4, "timestamp", ends);
+        }, rs -> {
+            overlapping.add(rs.getInt(1));
+        });
+
+        List<Candidate> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Candidate c = valid.get(i);
+            if (overlapping.contains(i)) {
+                run.reject(c.line, "Se solapa con un registro existente del usuario");
+            } else {
+                sorted.add(c);
+            }
+        }
+        sorted.sort(Comparator.comparing((Candidate c) -> c.userId).thenComparing(c -> c.startTime));
+
+        List<Candidate> accepted = new ArrayList<>(sorted.size());
+        Candidate previous = null;
+        for (Candidate c : sorted) {
+            if (previous != null && previous.userId.equals(c.userId) && c.startTime.isBefore(previous.endTime)) {
+                run.reject(c.line, "Se solapa con la línea " + previous.line);
+                continue;
+            }
+            accepted.add(c);
+            previous = c;
+        }
+        return accepted;
+    }
+
+    /**
+     * Agrupa por usuario, tarea y día antes del upsert: un INSERT multi-fila no puede tocar dos veces la misma clave.
+     */
+    private void addRollups(List<Candidate> accepted) {
+        Map<RollupKey, long[]> totals = new HashMap<>();
+        for (Candidate c : accepted) {
+            long[] total = totals.computeIfAbsent(
+                    new RollupKey(c.userId, c.taskId, c.departmentId, c.startTime.toLocalDate()), k -> new long[2]);
+            total[0] += c.minutes;
+            total[1]++;
+        }
+        jdbcTemplate.batchUpdate(ADD_ROLLUP_SQL, new ArrayList<>(totals.entrySet()), batchSize, (ps, entry) -> {
+            RollupKey key = entry.getKey();
+            ps.setLong(1, key.userId());
+            ps.setLong(2, key.taskId());
+            ps.setObject(3, key.departmentId());
+            ps.setObject(4, key.day());
+            ps.setLong(5, entry.getValue()[0]);
+            ps.setLong(6, entry.getValue()[1]);
+        });
+    }
+
+    private Map<String, Optional<Long>> findUserIds(Set<? extends String> emails) {
+        Map<String, Optional<Long>> result = new HashMap<>();
+        emails.forEach(email -> result.put(email, Optional.empty()));
+        jdbcTemplate.query(FIND_USERS_SQL, ps -> setArray(ps, 1, "text", emails.toArray()),
+                rs -> {
+                    result.put(rs.getString(1), Optional.of(rs.getLong(2)));
+                });
+        return result;
+    }
+
+    private Map<Long, Optional<TaskRef>> findTasks(Set<? extends Long> ids) {
+        Map<Long, Optional<TaskRef>> result = new HashMap<>();
+        ids.forEach(id -> result.put(id, Optional.empty()));
+        jdbcTemplate.query(FIND_TASKS_SQL, ps -> setArray(ps, 1, "int8", ids.toArray()),
+                rs -> {
+                    result.put(rs.getLong(1), Optional.of(new TaskRef(rs.getObject(2, Long.class))));
+                });
+        return result;
+    }
+
+    private static void setArray(PreparedStatement ps, int index, String type, Object[] values) throws SQLException {
+        ps.setArray(index, ps.getConnection().createArrayOf(type, values));
+    }
+
+    /**
+     * Estado de una importación: contadores, primeros errores y cachés de búsqueda acotadas.
+     */
+    private class ImportRun {
+        private final Cache<String, Optional<Long>> users = Caffeine.newBuilder().maximumSize(lookupCacheSize).build();
+        private final Cache<Long, Optional<TaskRef>> tasks = Caffeine.newBuilder().maximumSize(lookupCacheSize).build();
+        private final List<TimeLogImportResponse.RowError> errors = new ArrayList<>();
+        private long received;
+        private long accepted;
+        private long rejected;
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new TimeLogImportResponse.RowError(line, message));
+            }
+        }
+    }
+
+    private static final class Candidate {
+        private final long line;
+        private final String email;
+        private final Long taskId;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private Long userId;
+        private Long departmentId;
+        private long minutes;
+
+        Candidate(long line, TimeLogImportRow row) {
+            this.line = line;
+            this.email = row.getUserEmail() != null ? row.getUserEmail().trim() : null;
+            this.taskId = row.getTaskId();
+            this.startTime = row.getStartTime();
+            this.endTime = row.getEndTime();
+        }
+    }
+
+    private record TaskRef(Long departmentId) {
+    }
+
+    private record RollupKey(Long userId, Long taskId, Long departmentId, LocalDate day) {
+    }
+
+    /** Fila leída (o el motivo por el que no se pudo leer) con su número de línea en el fichero. */
+    private record ParsedRow(long line, TimeLogImportRow row, String error) {
+    }
+
+    private interface RowSource {
+        /** Siguiente fila, o null al final del fichero. */
+        ParsedRow next() throws IOException;
+    }
+
+    /**
+     * Una línea JSON por registro; las líneas vacías se ignoran.
+     */
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(line, ndjsonReader.readValue(text), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(line, null, "JSON inválido");
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * CSV con cabecera (RFC 4180: campos entre comillas, comillas dobladas y saltos de línea dentro de comillas).
+     * Las columnas se localizan por nombre; las que no se usan (p. ej. las de la exportación) se ignoran.
+     */
+    private static final class CsvRowSource implements RowSource {
+        private final Reader reader;
+        private final int[] columns = new int[CSV_COLUMNS.length];
+        private final StringBuilder field = new StringBuilder();
+        private long line = 1;
+        private boolean eof;
+
+        CsvRowSource(Reader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new BusinessException("El fichero está vacío");
+            }
+            for (int i = 0; i < CSV_COLUMNS.length; i++) {
+                columns[i] = header.indexOf(CSV_COLUMNS[i]);
+                if (columns[i] < 0) {
+                    throw new BusinessException("Falta la columna " + CSV_COLUMNS[i]);
+                }
+            }
+        }
+
+        @Override
+        public ParsedRow next() throws IOException {
+            List<String> record;
+            long start;
+            do {
+                start = line;
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isEmpty());
+
+            try {
+                TimeLogImportRow row = new TimeLogImportRow(
+                        value(record, 0),
+                        Optional.ofNullable(value(record, 1)).map(Long::valueOf).orElse(null),
+                        Optional.ofNullable(value(record, 2)).map(LocalDateTime::parse).orElse(null),
+                        Optional.ofNullable(value(record, 3)).map(LocalDateTime::parse).orElse(null));
+                return new ParsedRow(start, row, null);
+            } catch (NumberFormatException e) {
+                return new ParsedRow(start, null, "taskId inválido");
+            } catch (DateTimeParseException e) {
+                return new ParsedRow(start, null, "Fecha inválida: " + e.getParsedString());
+            }
+        }
+
+        private String value(List<String> record, int column) {
+            int index = columns[column];
+            if (index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Lee un registro completo (puede ocupar varias líneas), o null al final del fichero.
+         */
+        private List<String> readRecord() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<String> record = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean any = false;
+            int ch;
+            while ((ch = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        field.append((char) ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    line++;
+                    record.add(field.toString());
+                    return record;
+                } else if (ch != '\r') {
+                    field.append((char) ch);
+                }
+            }
+            eof = true;
+            if (!any) {
+                return null;
+            }
+            record.add(field.toString());
+            return record;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.taskflow.service;
 
+import com.taskflow.dto.ActiveSession;
 import com.taskflow.entity.TimeLog;
 import com.taskflow.entity.Task;
 import com.taskflow.entity.User;
@@ -8,6 +9,8 @@ import com.taskflow.repository.TimeLogRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -15,32 +18,55 @@ import java.util.Optional;
 
 /**
  * Servicio para gestionar el registro de tiempo.
+ * La sesión activa de cada usuario se lleva en {@link ActiveSessionRegistry};
+ * si la transacción se revierte, el registro vuelve a su estado anterior.
  */
 @Service
 @RequiredArgsConstructor
 public class TimeLogService {
 
     private final TimeLogRepository timeLogRepository;
+    private final TimeRollupService timeRollupService;
+    private final ActiveSessionRegistry activeSessionRegistry;
+
+    /**
+     * Sesión activa del usuario, sin consultar la BD.
+     */
+    public Optional<ActiveSession> getActiveSession(Long userId) {
+        return activeSessionRegistry.get(userId);
+    }
 
     /**
      * Inicia un registro de tiempo para un usuario en una tarea específica.
      * RF6.1: Un usuario no puede tener más de una tarea activa simultáneamente.
+     * La reserva en el registro es atómica, así que de dos inicios simultáneos solo uno inserta.
+     * La sesión solo se publica tras el commit: mientras tanto la reserva bloquea otros inicios
+     * y un stop concurrente no la ve, en lugar de retirar una sesión cuyo registro aún no es visible.
      */
     @Transactional
     public TimeLog startTimeLog(User user, Task task) {
-        // Verificar si el usuario ya tiene un registro activo
-        Optional<TimeLog> activeLog = timeLogRepository.findByUserIdAndEndTimeIsNull(user.getId());
-        if (activeLog.isPresent()) {
+        ActiveSessionRegistry.Entry reservation = activeSessionRegistry.reserve(user.getId());
+        if (reservation == null) {
             throw new BusinessException("El usuario ya tiene una tarea en progreso");
         }
 
-        TimeLog log = TimeLog.builder()
-                .user(user)
-                .task(task)
-                .startTime(LocalDateTime.now())
-                .build();
+        TimeLog savedLog;
+        try {
+            TimeLog log = TimeLog.builder()
+                    .user(user)
+                    .task(task)
+                    .startTime(LocalDateTime.now())
+                    .build();
+            savedLog = timeLogRepository.save(log);
+        } catch (RuntimeException e) {
+            activeSessionRegistry.cancel(reservation);
+            throw e;
+        }
 
-        return timeLogRepository.save(log);
+        ActiveSession session = ActiveSession.of(savedLog);
+        onCompletion(() -> activeSessionRegistry.confirm(reservation, session),
+                () -> activeSessionRegistry.cancel(reservation));
+        return savedLog;
     }
 
     /**
@@ -48,15 +74,82 @@ public class TimeLogService {
      */
     @Transactional
     public TimeLog stopTimeLog(User user) {
-        TimeLog activeLog = timeLogRepository.findByUserIdAndEndTimeIsNull(user.getId())
+        return closeActiveTimeLog(user.getId())
                 .orElseThrow(() -> new BusinessException("No hay ningún registro de tiempo activo para este usuario"));
+    }
 
+    /**
+     * Cierra la sesión activa del usuario (calcula la duración y actualiza el acumulado diario).
+     * Vacío si no hay sesión o si otra request la cerró antes.
+     */
+    @Transactional
+    public Optional<TimeLog> closeActiveTimeLog(Long userId) {
+        return takeActiveTimeLog(userId).map(this::closeTimeLog);
+    }
+
+    /**
+     * Elimina la sesión activa del usuario sin guardar tiempo.
+     * Devuelve el registro eliminado, o vacío si no había sesión.
+     */
+    @Transactional
+    public Optional<TimeLog> cancelActiveTimeLog(Long userId) {
+        Optional<TimeLog> activeLog = takeActiveTimeLog(userId);
+        activeLog.ifPresent(log -> {
+            timeRollupService.recordDeletedLog(log);
+            timeLogRepository.delete(log);
+        });
+        return activeLog;
+    }
+
+    /**
+     * Retira la sesión del registro (compare-and-set) y carga su registro por ID.
+     */
+    private Optional<TimeLog> takeActiveTimeLog(Long userId) {
+        Optional<ActiveSession> current = activeSessionRegistry.get(userId);
+        if (current.isEmpty() || !activeSessionRegistry.remove(userId, current.get())) {
+            return Optional.empty();
+        }
+        ActiveSession session = current.get();
+        afterRollback(() -> activeSessionRegistry.restore(session));
+
+        return timeLogRepository.findWithTaskById(session.id())
+                .filter(log -> log.getEndTime() == null);
+    }
+
+    private TimeLog closeTimeLog(TimeLog activeLog) {
         activeLog.setEndTime(LocalDateTime.now());
         
         // Calcular duración en minutos (RF5.5)
         long minutes = Duration.between(activeLog.getStartTime(), activeLog.getEndTime()).toMinutes();
         activeLog.setDurationMinutes(minutes);
 
-        return timeLogRepository.save(activeLog);
+        TimeLog savedLog = timeLogRepository.save(activeLog);
+        timeRollupService.recordClosedLog(savedLog);
+        return savedLog;
+    }
+
+    private static void afterRollback(Runnable action) {
+        onCompletion(() -> { }, action);
+    }
+
+    /**
+     * Ejecuta onCommit si la transacción se confirma y otherwise en cualquier otro caso.
+     * Sin transacción activa se considera confirmada en el acto.
+     */
+    private static void onCompletion(Runnable onCommit, Runnable otherwise) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    otherwise.run();
+                }
+            }
+        });
     }
 }
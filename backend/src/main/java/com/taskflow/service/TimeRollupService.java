@@ -0,0 +1,64 @@
+package com.taskflow.service;
+
+import com.taskflow.entity.Task;
+import com.taskflow.entity.TimeLog;
+import com.taskflow.repository.TimeRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio que mantiene la tabla time_rollups (minutos por usuario, tarea y día).
+ * Se invoca dentro de la misma transacción que cierra o elimina el TimeLog.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimeRollupService {
+
+    private final TimeRollupRepository timeRollupRepository;
+
+    /**
+     * Suma al acumulado del día la duración de un registro recién cerrado.
+     */
+    @Transactional
+    public void recordClosedLog(TimeLog timeLog) {
+        apply(timeLog, 1);
+    }
+
+    /**
+     * Descuenta del acumulado un registro cerrado que se va a eliminar.
+     * Los registros abiertos no tienen duración y no afectan al acumulado.
+     */
+    @Transactional
+    public void recordDeletedLog(TimeLog timeLog) {
+        apply(timeLog, -1);
+    }
+
+    /**
+     * Reconstruye todos los acumulados desde time_logs.
+     */
+    @Transactional
+    public int rebuild() {
+        int deleted = timeRollupRepository.deleteAllRows();
+        int inserted = timeRollupRepository.backfillFromTimeLogs();
+        log.info("Time rollups rebuilt: {} rows removed, {} rows inserted", deleted, inserted);
+        return inserted;
+    }
+
+    private void apply(TimeLog timeLog, int sign) {
+        if (timeLog.getDurationMinutes() == null) {
+            return;
+        }
+        Task task = timeLog.getTask();
+        Long departmentId = task.getDepartment() != null ? task.getDepartment().getId() : null;
+        timeRollupRepository.addMinutes(
+                timeLog.getUser().getId(),
+                task.getId(),
+                departmentId,
+                timeLog.getStartTime().toLocalDate(),
+                sign * timeLog.getDurationMinutes(),
+                sign);
+    }
+}
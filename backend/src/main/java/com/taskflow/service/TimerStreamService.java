@@ -0,0 +1,121 @@
+package com.taskflow.service;
+
+import com.taskflow.dto.TimerEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de conexiones SSE por usuario para notificar cambios del contador de tiempo.
+ * Los eventos se publican con ApplicationEventPublisher y se envían tras el commit,
+ * así un cliente nunca ve un estado que luego se revierte. Un cliente conectado no
+ * genera consultas: solo recibe eventos y un heartbeat periódico.
+ */
+@Slf4j
+@Service
+public class TimerStreamService {
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long emitterTimeoutMillis;
+    private final int maxEmittersPerUser;
+
+    public TimerStreamService(@Value("${app.sse.emitter-timeout:30m}") Duration emitterTimeout,
+                              @Value("${app.sse.max-emitters-per-user:5}") int maxEmittersPerUser) {
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.maxEmittersPerUser = maxEmittersPerUser;
+    }
+
+    /**
+     * Abre una conexión para el usuario. Al expirar, el cliente (EventSource) reconecta solo.
+     * Si el usuario supera el máximo de conexiones se cierra la más antigua.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        List<SseEmitter> userEmitters = emitters.compute(userId, (id, current) -> {
+            List<SseEmitter> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        while (userEmitters.size() > maxEmittersPerUser) {
+            SseEmitter oldest = userEmitters.remove(0);
+            oldest.complete();
+        }
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        // Primer mensaje para que el cliente sepa que la conexión está abierta
+        send(userId, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Envía el evento a las conexiones del usuario una vez confirmada la transacción
+     * (o de inmediato si se publica fuera de una).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTimerEvent(TimerEvent event) {
+        List<SseEmitter> userEmitters = emitters.get(event.getUserId());
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            send(event.getUserId(), emitter, SseEmitter.event()
+                    .name(event.getType())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Comentario periódico para que proxies y balanceadores no cierren conexiones inactivas
+     * y para detectar clientes desconectados.
+     */
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                send(userId, emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    public int getConnectionCount() {
+        return emitters.values().stream().mapToInt(List::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE connection closed for user {}: {}", userId, e.getMessage());
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.taskflow.service;
 import com.taskflow.entity.User;
 import com.taskflow.exception.ResourceNotFoundException;
 import com.taskflow.repository.UserRepository;
+import com.taskflow.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para gestionar la lógica de negocio de los usuarios.
@@ -20,6 +22,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Value("${app.max-users:50}")
     private int maxUsers;
@@ -51,6 +54,21 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Valida ?fields= contra los campos declarados para usuarios (400 si alguno no existe).
+     */
+    public List<String> validateFields(List<String> fields) {
+        return UserRepository.FIELDS.validate(fields);
+    }
+
+    /**
+     * Obtiene todos los usuarios con solo los campos pedidos (sin cargar entidades ni la contraseña).
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllUserFields(List<String> fields) {
+        return userRepository.findFields(fields);
+    }
+
     /**
      * Busca un usuario por su ID.
      */
@@ -75,6 +93,7 @@ public class UserService {
     @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
+        boolean securityChanged = user.getRole() != userDetails.getRole() || user.isActive() != userDetails.isActive();
         
         user.setFirstName(userDetails.getFirstName());
         user.setLastName(userDetails.getLastName());
@@ -85,6 +104,13 @@ public class UserService {
         // Solo actualizar contraseña si viene una nueva
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+            securityChanged = true;
+        }
+        
+        // Invalida los tokens emitidos si cambió algo que afecta a la autorización
+        if (securityChanged) {
+            user.setSecurityVersion(user.getSecurityVersion() + 1);
+            principalCache.invalidate(id);
         }
         
         return userRepository.save(user);
@@ -97,6 +123,7 @@ public class UserService {
     public void deleteUser(Long id) {
         User user = getUserById(id);
         userRepository.delete(user);
+        principalCache.invalidate(id);
     }
 
     /**
@@ -114,6 +141,8 @@ public class UserService {
     public User toggleUserStatus(Long id) {
         User user = getUserById(id);
         user.setActive(!user.isActive());
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        principalCache.invalidate(id);
         return userRepository.save(user);
     }
 
@@ -0,0 +1,62 @@
+-- Esquema base: las tablas tal y como las generaba ddl-auto: update antes de introducir Flyway.
+-- Las BD existentes se marcan en esta versión (spring.flyway.baseline-on-migrate) y no lo ejecutan,
+-- así que todo lo añadido después va en migraciones posteriores.
+
+CREATE TABLE departments (
+    id          BIGSERIAL    NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id            BIGSERIAL    NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'MANAGER', 'EMPLOYEE')),
+    department_id BIGINT,
+    active        BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tasks (
+    id            BIGSERIAL    NOT NULL,
+    title         VARCHAR(255) NOT NULL,
+    description   TEXT,
+    status        VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'IN_PROGRESS', 'PAUSED', 'COMPLETED')),
+    priority      VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    department_id BIGINT       NOT NULL,
+    assignee_id   BIGINT,
+    requester_id  BIGINT       NOT NULL,
+    created_by    VARCHAR(255),
+    version       BIGINT,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE time_logs (
+    id               BIGSERIAL    NOT NULL,
+    task_id          BIGINT       NOT NULL,
+    user_id          BIGINT       NOT NULL,
+    start_time       TIMESTAMP(6) NOT NULL,
+    end_time         TIMESTAMP(6),
+    duration_minutes BIGINT,
+    PRIMARY KEY (id)
+);
+
+-- Mismos nombres que generaba Hibernate, para que coincidan con las BD existentes
+ALTER TABLE departments ADD CONSTRAINT uk_j6cwks7xecs5jov19ro8ge3qk UNIQUE (name);
+ALTER TABLE users ADD CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE users ADD CONSTRAINT FKsbg59w8q63i0oo53rlgvlcnjq FOREIGN KEY (department_id) REFERENCES departments;
+ALTER TABLE tasks ADD CONSTRAINT FKekr1dgiqktpyoip3qmp6lxsit FOREIGN KEY (assignee_id) REFERENCES users;
+ALTER TABLE tasks ADD CONSTRAINT FKq0ulb2lfkghkpoakoyd4es4jp FOREIGN KEY (department_id) REFERENCES departments;
+ALTER TABLE tasks ADD CONSTRAINT FKcw891yokmm7536jxc5gagwvd4 FOREIGN KEY (requester_id) REFERENCES users;
+ALTER TABLE time_logs ADD CONSTRAINT FKoun22vhbya8md711x7gbqv5j6 FOREIGN KEY (task_id) REFERENCES tasks;
+ALTER TABLE time_logs ADD CONSTRAINT FKpa0td7bk535jt0143oslckvxj FOREIGN KEY (user_id) REFERENCES users;
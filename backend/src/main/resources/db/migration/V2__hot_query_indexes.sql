@@ -0,0 +1,17 @@
+-- Índices para las consultas frecuentes (IF NOT EXISTS: alguno pudo crearlo ddl-auto en BD existentes).
+
+-- Historial, registros de hoy y rangos por usuario; búsqueda de solapes en la importación
+CREATE INDEX IF NOT EXISTS idx_time_logs_user_start ON time_logs (user_id, start_time);
+-- Sesión activa / registros abiertos por usuario
+CREATE INDEX IF NOT EXISTS idx_time_logs_user_end ON time_logs (user_id, end_time);
+-- Registros de una tarea (y FK desde tasks)
+CREATE INDEX IF NOT EXISTS idx_time_logs_task ON time_logs (task_id);
+-- Exportación por rango de fechas de todos los usuarios
+CREATE INDEX IF NOT EXISTS idx_time_logs_start ON time_logs (start_time);
+
+-- Tareas de un empleado
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee ON tasks (assignee_id);
+-- Tareas de un departamento, filtradas por estado
+CREATE INDEX IF NOT EXISTS idx_tasks_department_status ON tasks (department_id, status);
+-- Listado paginado por cursor (ORDER BY updated_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_id ON tasks (updated_at DESC, id DESC);
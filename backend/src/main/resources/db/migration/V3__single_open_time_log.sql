@@ -0,0 +1,12 @@
+-- Como mucho un registro abierto (sesión activa) por usuario, igual que ActiveSessionRegistry.
+
+-- Datos antiguos: si un usuario tiene varios abiertos se conserva el más reciente
+-- y los demás se cierran sin tiempo (duración 0)
+UPDATE time_logs l
+SET end_time = l.start_time, duration_minutes = 0
+WHERE l.end_time IS NULL
+  AND EXISTS (SELECT 1 FROM time_logs o
+              WHERE o.user_id = l.user_id AND o.end_time IS NULL
+                AND (o.start_time, o.id) > (l.start_time, l.id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_time_logs_user_open ON time_logs (user_id) WHERE end_time IS NULL;
@@ -0,0 +1,10 @@
+-- Secuencia con reserva de bloques de 50 para los inserts por lotes de tareas (Task.ID_ALLOCATION_SIZE).
+-- tasks.id conserva su DEFAULT (tasks_id_seq), que Hibernate ya no usa.
+
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+
+-- Hibernate (optimizador pooled) usa los IDs (valor - 49 .. valor) de cada nextval:
+-- el siguiente bloque tiene que empezar por encima de las tareas existentes
+SELECT setval('task_seq', m.next_hi, false)
+FROM (SELECT COALESCE(MAX(id), 0) + 50 AS next_hi FROM tasks) m
+WHERE m.next_hi > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM task_seq);
@@ -0,0 +1,3 @@
+-- Versión de seguridad del usuario (rol, estado o contraseña): invalida los JWT emitidos antes del cambio.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- Acumulados diarios de tiempo por usuario y tarea. Los rellena TimeRollupInitializer
+-- a partir de time_logs en el primer arranque con la tabla vacía.
+
+CREATE TABLE IF NOT EXISTS time_rollups (
+    id            BIGSERIAL NOT NULL,
+    user_id       BIGINT    NOT NULL,
+    task_id       BIGINT    NOT NULL,
+    department_id BIGINT,
+    log_date      DATE      NOT NULL,
+    minutes       BIGINT    NOT NULL,
+    entries       BIGINT    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_time_rollups_user_task_date UNIQUE (user_id, task_id, log_date),
+    -- Mismos nombres que generaría Hibernate
+    CONSTRAINT FKmcic1h0w086e2bjm2cc7qsy5x FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT FKbh0va06e570l2rh3stmhk1n4a FOREIGN KEY (task_id) REFERENCES tasks,
+    CONSTRAINT FKd9cto2ni30lxuxucskbrkex9p FOREIGN KEY (department_id) REFERENCES departments
+);
@@ -0,0 +1,13 @@
+-- Orden numérico de la prioridad (CRITICAL 3 > HIGH 2 > MEDIUM 1 > LOW 0) para el listado con sort=priority.
+-- Columna generada: la mantiene la BD en cada insert/update (también COPY e inserts por lotes).
+-- Añadirla reescribe la tabla tasks una vez.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS priority_rank INTEGER
+    GENERATED ALWAYS AS (CASE priority
+                             WHEN 'CRITICAL' THEN 3
+                             WHEN 'HIGH' THEN 2
+                             WHEN 'MEDIUM' THEN 1
+                             ELSE 0 END) STORED;
+
+-- Listado paginado por cursor (ORDER BY priority_rank DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_rank_id ON tasks (priority_rank DESC, id DESC);
@@ -0,0 +1,105 @@
+package com.taskflow.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.support.LocalPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.taskflow.support.SqlStatementAssertions.assertAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Número de sentencias SQL de los listados de tareas: no puede crecer con el número de tareas,
+ * departamentos o asignados (N+1). Incluye la autenticación JWT de la request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "jwt.secret=test-secret-key-with-at-least-32-bytes!")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIf(LocalPostgres.AVAILABLE)
+class TaskControllerSqlStatementsTest {
+
+    private static final int DEPARTMENTS = 4;
+    private static final int EMPLOYEES = 8;
+    private static final int TASKS = 40;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LocalPostgres.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String authorization;
+
+    @BeforeAll
+    void seed() throws Exception {
+        clean();
+        jdbc.update("INSERT INTO departments (name, created_at, updated_at) "
+                + "SELECT 'SQL Dept ' || g, now(), now() FROM generate_series(1, ?) g", DEPARTMENTS);
+        jdbc.update("INSERT INTO users (email, password, first_name, last_name, role, department_id, active, security_version) "
+                + "SELECT 'sql-' || g || '@test.local', 'x', 'Empleado', 'Test' || g, 'EMPLOYEE', "
+                + "(SELECT min(id) FROM departments) + g % ?, true, 0 FROM generate_series(1, ?) g", DEPARTMENTS, EMPLOYEES);
+        jdbc.update("INSERT INTO tasks (id, title, status, priority, department_id, assignee_id, requester_id, version, created_at, updated_at) "
+                + "SELECT nextval('task_seq'), 'Tarea ' || g, 'PENDING', 'MEDIUM', "
+                + "(SELECT min(id) FROM departments) + g % ?, "
+                + "(SELECT min(id) FROM users WHERE email LIKE 'sql-%') + g % ?, "
+                + "(SELECT id FROM users WHERE email = 'admin@taskflow.com'), 0, now(), now() "
+                + "FROM generate_series(1, ?) g", DEPARTMENTS, EMPLOYEES, TASKS);
+
+        String login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@taskflow.com\",\"password\":\"admin123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        authorization = "Bearer " + objectMapper.readTree(login).path("token").asText();
+    }
+
+    // El admin lo crea DataInitializer al arrancar el contexto: se conserva
+    @AfterAll
+    void clean() {
+        jdbc.execute("TRUNCATE time_rollups, time_logs, tasks RESTART IDENTITY CASCADE");
+        jdbc.update("DELETE FROM users WHERE email <> 'admin@taskflow.com'");
+        jdbc.update("DELETE FROM departments WHERE id NOT IN (SELECT department_id FROM users WHERE department_id IS NOT NULL)");
+    }
+
+    @Test
+    void listingAllTasksRunsAFixedNumberOfStatements() throws Exception {
+        // Principal (si no está en caché), ETag (tareas, usuarios, departamentos y acumulados) y la proyección con joins
+        assertAtMost(6, () -> mockMvc.perform(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TASKS)));
+    }
+
+    @Test
+    void listingATaskPageRunsAFixedNumberOfStatements() throws Exception {
+        // Principal, IDs de la página y proyección de esos IDs
+        assertAtMost(3, () -> mockMvc.perform(get("/api/tasks/page").param("size", "25")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(25)));
+    }
+}
@@ -0,0 +1,230 @@
+package com.taskflow.repository;
+
+import com.taskflow.dto.TaskCursor;
+import com.taskflow.dto.TaskFilter;
+import com.taskflow.entity.Priority;
+import com.taskflow.entity.TaskStatus;
+import com.taskflow.support.CapturedSql;
+import com.taskflow.support.LocalPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Comprueba que las consultas de los repositorios usan los índices de las migraciones (V2, V3, V7).
+ * Ejecuta cada método del repositorio, captura el SQL que genera Hibernate y pide su plan
+ * genérico (el de una sentencia preparada) con la configuración por defecto del planificador,
+ * sobre un volumen de datos en el que un índice ausente o inútil acaba en Seq Scan.
+ * Requiere Postgres 16+ (EXPLAIN GENERIC_PLAN) en la BD de {@link LocalPostgres}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.taskflow.support.CapturedSql")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIf(LocalPostgres.AVAILABLE)
+class RepositoryIndexUsageTest {
+
+    private static final int DEPARTMENTS = 20;
+    private static final int USERS = 1_000;
+    private static final int TASKS = 50_000;
+    private static final int TIME_LOGS = 200_000;
+    // Los primeros registros quedan abiertos, uno por usuario
+    private static final int OPEN_LOGS = 500;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LocalPostgres.register(registry);
+    }
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        Integer version = jdbc.queryForObject("SELECT current_setting('server_version_num')::int", Integer.class);
+        assumeTrue(version != null && version >= 160000, "EXPLAIN (GENERIC_PLAN) requiere Postgres 16");
+
+        truncate();
+        jdbc.update("INSERT INTO departments (id, name, created_at, updated_at) "
+                + "SELECT g, 'Dept ' || g, now(), now() FROM generate_series(1, ?) g", DEPARTMENTS);
+        jdbc.update("INSERT INTO users (id, email, password, first_name, last_name, role, department_id, active, security_version) "
+                + "SELECT g, 'user' || g || '@test.local', 'x', 'User', 'Test', 'EMPLOYEE', g % ? + 1, true, 0 "
+                + "FROM generate_series(1, ?) g", DEPARTMENTS, USERS);
+        jdbc.update("INSERT INTO tasks (id, title, status, priority, department_id, assignee_id, requester_id, version, created_at, updated_at) "
+                + "SELECT g, 'Task ' || g, "
+                + "(ARRAY['PENDING', 'IN_PROGRESS', 'PAUSED', 'COMPLETED'])[(g / ?) % 4 + 1], "
+                + "(ARRAY['LOW', 'MEDIUM', 'HIGH', 'CRITICAL'])[(g / 7) % 4 + 1], "
+                + "g % ? + 1, g % ? + 1, 1, 0, now() - g * interval '1 minute', now() - g * interval '1 minute' "
+                + "FROM generate_series(1, ?) g", DEPARTMENTS, DEPARTMENTS, USERS, TASKS);
+        jdbc.update("INSERT INTO time_logs (task_id, user_id, start_time, end_time, duration_minutes) "
+                + "SELECT g % ? + 1, g % ? + 1, now() - g * interval '5 minutes', "
+                + "CASE WHEN g <= ? THEN NULL ELSE now() - g * interval '5 minutes' + interval '3 minutes' END, "
+                + "CASE WHEN g <= ? THEN NULL ELSE 3 END "
+                + "FROM generate_series(1, ?) g", TASKS, USERS, OPEN_LOGS, OPEN_LOGS, TIME_LOGS);
+        jdbc.execute("ANALYZE departments, users, tasks, time_logs, time_rollups");
+    }
+
+    @AfterAll
+    void truncate() {
+        jdbc.execute("TRUNCATE time_rollups, time_logs, tasks, users, departments RESTART IDENTITY CASCADE");
+    }
+
+    @Test
+    void historyOfUserUsesAUserIndex() {
+        // Sin rango de fechas cualquiera de los dos índices por user_id sirve (el planificador empata)
+        String plan = planOf(() -> timeLogRepository.findByUserIdOrderByStartTimeDesc(42L));
+        assertUsesIndex(plan, "time_logs", "idx_time_logs_user_start", "idx_time_logs_user_end");
+    }
+
+    @Test
+    void dateRangeOfUserUsesUserStartIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        String plan = planOf(() -> timeLogRepository.findByUserIdAndDateRange(42L, now.minusDays(7), now));
+        assertUsesIndex(plan, "time_logs", "idx_time_logs_user_start");
+    }
+
+    @Test
+    void todayOfUserUsesUserStartIndex() {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        String plan = planOf(() -> timeLogRepository.findTodayByUserId(42L, today, today.plusDays(1)));
+        assertUsesIndex(plan, "time_logs", "idx_time_logs_user_start");
+    }
+
+    @Test
+    void totalMinutesOfUserUsesAUserIndex() {
+        String plan = planOf(() -> timeLogRepository.getTotalMinutesByUser(42L));
+        assertUsesIndex(plan, "time_logs", "idx_time_logs_user_start", "idx_time_logs_user_end");
+    }
+
+    @Test
+    void logsOfTaskUseTaskIndex() {
+        assertUsesIndex(planOf(() -> timeLogRepository.findByTaskId(42L)), "time_logs", "idx_time_logs_task");
+        assertUsesIndex(planOf(() -> timeLogRepository.getTotalMinutesByTask(42L)), "time_logs", "idx_time_logs_task");
+    }
+
+    @Test
+    void activeSessionsUsePartialOpenIndex() {
+        String plan = planOf(() -> timeLogRepository.findActiveSessions());
+        assertUsesIndex(plan, "time_logs", "uk_time_logs_user_open");
+    }
+
+    @Test
+    void exportUsesStartIndex() {
+        LocalDateTime from = LocalDate.now().minusDays(30).atStartOfDay();
+        String plan = planOf(() -> {
+            try (Stream<?> rows = timeLogRepository.streamForExport(from, from.plusDays(1))) {
+                rows.findFirst();
+            }
+        });
+        assertUsesIndex(plan, "time_logs", "idx_time_logs_start");
+    }
+
+    @Test
+    void tasksOfAssigneeUseAssigneeIndex() {
+        assertUsesIndex(planOf(() -> taskRepository.findByAssigneeId(42L)), "tasks", "idx_tasks_assignee");
+        assertUsesIndex(planOf(() -> taskRepository.findResponsesByAssigneeId(42L)), "tasks", "idx_tasks_assignee");
+    }
+
+    @Test
+    void tasksOfDepartmentUseDepartmentStatusIndex() {
+        String plan = planOf(() -> taskRepository.findResponsesByDepartmentId(7L));
+        assertUsesIndex(plan, "tasks", "idx_tasks_department_status");
+    }
+
+    @Test
+    void taskPagesUseUpdatedIdIndex() {
+        TaskFilter filter = new TaskFilter();
+        assertUsesIndex(planOf(() -> taskRepository.findPageIds(filter, null, 20)), "tasks", "idx_tasks_updated_id");
+
+        TaskCursor cursor = new TaskCursor(LocalDateTime.now().minusDays(3), null, (long) TASKS / 2);
+        String plan = planOf(() -> taskRepository.findPageIds(filter, cursor, 20));
+        assertUsesIndex(plan, "tasks", "idx_tasks_updated_id");
+        assertThat(plan).as(plan).contains("Index Cond");
+    }
+
+    @Test
+    void taskPagesByPriorityUsePriorityRankIndex() {
+        TaskFilter filter = new TaskFilter();
+        filter.setSort("priority");
+        assertUsesIndex(planOf(() -> taskRepository.findPageIds(filter, null, 20)), "tasks", "idx_tasks_priority_rank_id");
+
+        // El cursor acota el recorrido del índice (Index Cond), no se filtra fila a fila
+        TaskCursor cursor = new TaskCursor(null, Priority.MEDIUM, (long) TASKS / 2);
+        String plan = planOf(() -> taskRepository.findPageIds(filter, cursor, 20));
+        assertUsesIndex(plan, "tasks", "idx_tasks_priority_rank_id");
+        assertThat(plan).as(plan).contains("Index Cond");
+    }
+
+    @Test
+    void filteredTaskPagesUseAnIndex() {
+        TaskFilter filter = new TaskFilter();
+        filter.setDepartmentId(7L);
+        filter.setStatus(TaskStatus.IN_PROGRESS);
+        String plan = planOf(() -> taskRepository.findPageIds(filter, null, 20));
+        assertUsesIndex(plan, "tasks", "idx_tasks_department_status", "idx_tasks_updated_id");
+    }
+
+    /**
+     * Plan genérico de la primera sentencia que ejecuta la acción (los ? pasan a $1, $2...).
+     * Se pide por el protocolo simple: con el extendido el driver trataría $n como parámetros a enlazar.
+     */
+    private String planOf(Runnable action) {
+        CapturedSql.clear();
+        action.run();
+        String sql = CapturedSql.first();
+        StringBuilder positional = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                positional.append('$').append(++parameter);
+            } else {
+                positional.append(c);
+            }
+        }
+        Properties simpleProtocol = new Properties();
+        simpleProtocol.setProperty("preferQueryMode", "simple");
+        try (Connection connection = LocalPostgres.connect(simpleProtocol);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + positional)) {
+            StringBuilder plan = new StringBuilder();
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo obtener el plan de: " + sql, e);
+        }
+    }
+
+    private static void assertUsesIndex(String plan, String table, String... indexes) {
+        assertThat(plan).as(plan).doesNotContain("Seq Scan on " + table + " ");
+        assertThat(plan).as(plan).containsAnyOf(indexes);
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskflow.service;
+
+import com.taskflow.dto.ActiveSession;
+import com.taskflow.repository.TimeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Transiciones concurrentes del registro de sesiones: de varias requests simultáneas solo una gana.
+ */
+class ActiveSessionRegistryTest {
+
+    private static final int THREADS = 16;
+    private static final Long USER_ID = 7L;
+
+    private ActiveSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        TimeLogRepository repository = mock(TimeLogRepository.class);
+        when(repository.findActiveSessions()).thenReturn(List.of());
+        registry = new ActiveSessionRegistry(repository);
+        registry.load();
+    }
+
+    @Test
+    void onlyOneConcurrentReserveWins() throws Exception {
+        List<ActiveSessionRegistry.Entry> reservations = race(() -> registry.reserve(USER_ID));
+
+        assertThat(reservations).filteredOn(entry -> entry != null).hasSize(1);
+        // La reserva no es una sesión: /active sigue sin devolver nada hasta confirmar
+        assertThat(registry.get(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void onlyOneConcurrentRemoveWins() throws Exception {
+        ActiveSession session = session(1L);
+        registry.confirm(registry.reserve(USER_ID), session);
+
+        List<Boolean> removed = race(() -> registry.remove(USER_ID, session));
+
+        assertThat(removed).filteredOn(Boolean::booleanValue).hasSize(1);
+        assertThat(registry.get(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void removeDoesNotTakeAPendingReservation() {
+        ActiveSessionRegistry.Entry reservation = registry.reserve(USER_ID);
+
+        assertThat(registry.get(USER_ID)).isEmpty();
+        assertThat(registry.reserve(USER_ID)).isNull();
+
+        ActiveSession session = session(1L);
+        registry.confirm(reservation, session);
+        assertThat(registry.get(USER_ID)).containsSame(session);
+    }
+
+    @Test
+    void cancelledReservationCannotBeConfirmed() {
+        ActiveSessionRegistry.Entry reservation = registry.reserve(USER_ID);
+        registry.cancel(reservation);
+        ActiveSessionRegistry.Entry next = registry.reserve(USER_ID);
+
+        registry.confirm(reservation, session(1L));
+
+        assertThat(next).isNotNull();
+        assertThat(registry.get(USER_ID)).isEmpty();
+    }
+
+    private static ActiveSession session(Long id) {
+        return new ActiveSession(id, USER_ID, LocalDateTime.now(), 1L, "Tarea", null, null);
+    }
+
+    private static <T> List<T> race(Callable<T> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = IntStream.range(0, THREADS)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return action.call();
+                    }))
+                    .toList();
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
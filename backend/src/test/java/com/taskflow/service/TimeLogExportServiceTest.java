@@ -0,0 +1,54 @@
+package com.taskflow.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskflow.dto.TimeLogExportRow;
+import com.taskflow.repository.TimeLogRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Escapado de los campos de texto en la exportación CSV.
+ */
+class TimeLogExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Test
+    void formulaLikeValuesAreWrittenAsText() throws Exception {
+        String csv = exportCsv(new TimeLogExportRow(1L, 2L, "@evil.local", "=HYPERLINK(\"http://x\",\"y\")",
+                "+1", 3L, "-2+3", "\tDept", START, START.plusHours(1), 60L));
+
+        assertThat(csv.lines().skip(1).findFirst()).hasValue(
+                "1,2,'@evil.local,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'+1,3,'-2+3,'\tDept,"
+                        + "2024-03-01T09:00,2024-03-01T10:00,60");
+    }
+
+    @Test
+    void plainValuesAreUnchanged() throws Exception {
+        String csv = exportCsv(new TimeLogExportRow(1L, 2L, "ana@test.local", "Ana", "Pérez, López",
+                3L, "Revisar informe", null, START, null, null));
+
+        assertThat(csv.lines().skip(1).findFirst()).hasValue(
+                "1,2,ana@test.local,Ana,\"Pérez, López\",3,Revisar informe,,2024-03-01T09:00,,");
+    }
+
+    private static String exportCsv(TimeLogExportRow row) throws Exception {
+        TimeLogRepository repository = mock(TimeLogRepository.class);
+        when(repository.streamForExport(any(), any())).thenReturn(Stream.of(row));
+        TimeLogExportService service = new TimeLogExportService(repository, new ObjectMapper());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1), TimeLogExportService.FORMAT_CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
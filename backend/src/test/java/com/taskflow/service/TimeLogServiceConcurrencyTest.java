@@ -0,0 +1,191 @@
+package com.taskflow.service;
+
+import com.taskflow.entity.Task;
+import com.taskflow.entity.TimeLog;
+import com.taskflow.entity.User;
+import com.taskflow.exception.BusinessException;
+import com.taskflow.repository.TaskRepository;
+import com.taskflow.repository.UserRepository;
+import com.taskflow.support.LocalPostgres;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inicios y cierres simultáneos de la sesión de tiempo contra Postgres: el registro en memoria
+ * no puede quedar desincronizado de los time_logs abiertos.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "jwt.secret=test-secret-key-with-at-least-32-bytes!")
+@EnabledIf(LocalPostgres.AVAILABLE)
+class TimeLogServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LocalPostgres.register(registry);
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+    private Long taskId;
+
+    @BeforeEach
+    void seed() {
+        clean();
+        jdbc.update("INSERT INTO departments (name, created_at, updated_at) VALUES ('Timer Dept', now(), now())");
+        jdbc.update("INSERT INTO users (email, password, first_name, last_name, role, active, security_version) "
+                + "VALUES ('timer@test.local', 'x', 'Empleado', 'Timer', 'EMPLOYEE', true, 0)");
+        jdbc.update("INSERT INTO tasks (id, title, status, priority, department_id, requester_id, version, created_at, updated_at) "
+                + "VALUES (nextval('task_seq'), 'Tarea', 'PENDING', 'MEDIUM', (SELECT id FROM departments WHERE name = 'Timer Dept'), "
+                + "(SELECT id FROM users WHERE email = 'admin@taskflow.com'), 0, now(), now())");
+        // Por ID: la caché de consultas de findByEmail no ve los borrados hechos con JDBC
+        Long userId = jdbc.queryForObject("SELECT id FROM users WHERE email = 'timer@test.local'", Long.class);
+        user = userRepository.findById(userId).orElseThrow();
+        taskId = jdbc.queryForObject("SELECT max(id) FROM tasks", Long.class);
+    }
+
+    @AfterEach
+    void clean() {
+        if (user != null) {
+            timeLogService.cancelActiveTimeLog(user.getId());
+        }
+        jdbc.execute("TRUNCATE time_rollups, time_logs, tasks RESTART IDENTITY CASCADE");
+        jdbc.update("DELETE FROM users WHERE email <> 'admin@taskflow.com'");
+        jdbc.update("DELETE FROM departments WHERE name = 'Timer Dept'");
+    }
+
+    @Test
+    void stopDuringAnUncommittedStartLeavesTheSessionActive() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // startTask inserta el time_log y guarda la tarea en la misma transacción, que aquí se retiene
+            Future<?> start = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                taskService.startTask(taskId, user);
+                started.countDown();
+                await(release);
+            }));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(timeLogService.getActiveSession(user.getId())).isEmpty();
+            assertThat(timeLogService.closeActiveTimeLog(user.getId())).isEmpty();
+            assertThat(timeLogService.cancelActiveTimeLog(user.getId())).isEmpty();
+
+            release.countDown();
+            start.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(timeLogService.getActiveSession(user.getId())).isPresent();
+        Optional<TimeLog> closed = timeLogService.closeActiveTimeLog(user.getId());
+        assertThat(closed).hasValueSatisfying(log -> assertThat(log.getEndTime()).isNotNull());
+
+        // Sin registros abiertos huérfanos, el siguiente inicio funciona
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        assertThat(timeLogService.startTimeLog(user, task)).isNotNull();
+    }
+
+    @Test
+    void rolledBackStartReleasesTheReservation() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskService.startTask(taskId, user);
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException expected) {
+            // la transacción se revierte
+        }
+
+        assertThat(timeLogService.getActiveSession(user.getId())).isEmpty();
+        assertThat(openLogs()).isZero();
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        assertThat(timeLogService.startTimeLog(user, task)).isNotNull();
+    }
+
+    @Test
+    void onlyOneConcurrentStartSucceeds() throws Exception {
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        CountDownLatch go = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> attempts = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                attempts.add(CompletableFuture.supplyAsync(() -> {
+                    await(go);
+                    try {
+                        timeLogService.startTimeLog(user, task);
+                        return true;
+                    } catch (BusinessException e) {
+                        return false;
+                    }
+                }, executor));
+            }
+            go.countDown();
+            CompletableFuture.allOf(attempts.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(attempts).filteredOn(CompletableFuture::join).hasSize(1);
+        assertThat(openLogs()).isEqualTo(1);
+        assertThat(timeLogService.getActiveSession(user.getId())).isPresent();
+    }
+
+    private int openLogs() {
+        return jdbc.queryForObject("SELECT count(*) FROM time_logs WHERE user_id = ? AND end_time IS NULL",
+                Integer.class, user.getId());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timeout esperando al otro hilo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.taskflow.service;
+
+import com.taskflow.entity.Task;
+import com.taskflow.entity.User;
+import com.taskflow.repository.DepartmentRepository;
+import com.taskflow.repository.TaskRepository;
+import com.taskflow.repository.UserRepository;
+import com.taskflow.support.LocalPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cerrar una sesión actualiza time_rollups con SQL nativo; eso no puede vaciar
+ * las regiones de usuarios y departamentos ni la caché de consultas.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "jwt.secret=test-secret-key-with-at-least-32-bytes!")
+@EnabledIf(LocalPostgres.AVAILABLE)
+class TimeRollupCacheTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LocalPostgres.register(registry);
+    }
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @Autowired
+    private TimeRollupService timeRollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Long userId;
+    private Long departmentId;
+    private Long taskId;
+
+    @BeforeEach
+    void seed() {
+        clean();
+        jdbc.update("INSERT INTO departments (name, created_at, updated_at) VALUES ('Cache Dept', now(), now())");
+        departmentId = jdbc.queryForObject("SELECT id FROM departments WHERE name = 'Cache Dept'", Long.class);
+        jdbc.update("INSERT INTO users (email, password, first_name, last_name, role, department_id, active, security_version) "
+                + "VALUES ('cache@test.local', 'x', 'Empleado', 'Cache', 'EMPLOYEE', ?, true, 0)", departmentId);
+        userId = jdbc.queryForObject("SELECT id FROM users WHERE email = 'cache@test.local'", Long.class);
+        jdbc.update("INSERT INTO tasks (id, title, status, priority, department_id, requester_id, version, created_at, updated_at) "
+                + "VALUES (nextval('task_seq'), 'Tarea', 'PENDING', 'MEDIUM', ?, ?, 0, now(), now())", departmentId, userId);
+        taskId = jdbc.queryForObject("SELECT max(id) FROM tasks", Long.class);
+        // Las filas insertadas con JDBC no invalidan la caché de consultas por sí solas
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    @AfterEach
+    void clean() {
+        jdbc.execute("TRUNCATE time_rollups, time_logs, tasks RESTART IDENTITY CASCADE");
+        jdbc.update("DELETE FROM users WHERE email <> 'admin@taskflow.com'");
+        jdbc.update("DELETE FROM departments WHERE name = 'Cache Dept'");
+    }
+
+    @Test
+    void closingASessionKeepsReferenceDataCached() {
+        User user = readReferenceData();
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        timeLogService.startTimeLog(user, task);
+        readReferenceData();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> users = cacheStatsService.getRegionStats().get("users");
+        Map<String, Object> departments = cacheStatsService.getRegionStats().get("departments");
+        long queryCacheMisses = statistics.getQueryCacheMissCount();
+
+        assertThat(timeLogService.closeActiveTimeLog(userId)).isPresent();
+        timeRollupService.rebuild();
+        readReferenceData();
+
+        assertRegionServedFromCache("users", users);
+        assertRegionServedFromCache("departments", departments);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(queryCacheMisses);
+    }
+
+    private User readReferenceData() {
+        User user = userRepository.findById(userId).orElseThrow();
+        departmentRepository.findById(departmentId).orElseThrow();
+        userRepository.findByEmail("cache@test.local").orElseThrow();
+        departmentRepository.findAll();
+        return user;
+    }
+
+    private void assertRegionServedFromCache(String region, Map<String, Object> before) {
+        Map<String, Object> after = cacheStatsService.getRegionStats().get(region);
+        assertThat((long) after.get("misses")).as(region + " misses").isEqualTo((long) before.get("misses"));
+        assertThat((long) after.get("hits")).as(region + " hits").isGreaterThan((long) before.get("hits"));
+    }
+}
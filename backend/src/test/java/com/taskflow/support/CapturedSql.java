@@ -0,0 +1,42 @@
+package com.taskflow.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StatementInspector de test: guarda el SQL que genera Hibernate para poder pedir su plan.
+ * Se activa con hibernate.session_factory.statement_inspector=com.taskflow.support.CapturedSql.
+ */
+public class CapturedSql implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    /**
+     * Primera sentencia desde el último {@link #clear()} (la consulta del repositorio; las
+     * siguientes, si las hay, son cargas de asociaciones por ID).
+     */
+    public static String first() {
+        synchronized (STATEMENTS) {
+            if (STATEMENTS.isEmpty()) {
+                throw new AssertionError("No se ha ejecutado ninguna sentencia SQL");
+            }
+            return STATEMENTS.get(0);
+        }
+    }
+}
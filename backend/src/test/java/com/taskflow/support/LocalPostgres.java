@@ -0,0 +1,80 @@
+package com.taskflow.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * BD Postgres local para los tests de integración (nunca la de .env).
+ * Se configura con TEST_DB_URL, TEST_DB_USERNAME y TEST_DB_PASSWORD; por defecto
+ * jdbc:postgresql://localhost:5432/taskflow_test con postgres/postgres.
+ * Los tests vacían las tablas, así que tiene que ser una BD dedicada; solo se aceptan hosts locales.
+ * Si no hay servidor, los tests que la usan se omiten ({@code @EnabledIf(LocalPostgres.AVAILABLE)}).
+ */
+public final class LocalPostgres {
+
+    public static final String AVAILABLE = "com.taskflow.support.LocalPostgres#isAvailable";
+
+    private static final Set<String> LOCAL_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+
+    private static final String URL = setting("TEST_DB_URL", "jdbc:postgresql://localhost:5432/taskflow_test");
+    private static final String USERNAME = setting("TEST_DB_USERNAME", "postgres");
+    private static final String PASSWORD = setting("TEST_DB_PASSWORD", "postgres");
+
+    private static Boolean available;
+
+    private LocalPostgres() {
+    }
+
+    public static synchronized boolean isAvailable() {
+        if (available == null) {
+            requireLocalHost();
+            try (Connection ignored = connect(new Properties())) {
+                available = true;
+            } catch (SQLException e) {
+                System.err.println("Tests con Postgres omitidos: no se puede conectar a " + URL + " (" + e.getMessage() + ")");
+                available = false;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Sustituye la BD de application.yml por la de test.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        requireLocalHost();
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+    }
+
+    /**
+     * Conexión JDBC directa, con propiedades adicionales del driver (p. ej. preferQueryMode).
+     */
+    public static Connection connect(Properties driverProperties) throws SQLException {
+        requireLocalHost();
+        Properties properties = new Properties();
+        properties.putAll(driverProperties);
+        properties.setProperty("user", USERNAME);
+        properties.setProperty("password", PASSWORD);
+        return DriverManager.getConnection(URL, properties);
+    }
+
+    private static void requireLocalHost() {
+        String host = URI.create(URL.substring("jdbc:".length())).getHost();
+        if (host == null || !LOCAL_HOSTS.contains(host)) {
+            throw new IllegalStateException("TEST_DB_URL tiene que apuntar a una BD local, no a " + host);
+        }
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
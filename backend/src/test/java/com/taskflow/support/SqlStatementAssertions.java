@@ -0,0 +1,36 @@
+package com.taskflow.support;
+
+import com.taskflow.config.SqlStatementCounter;
+
+/**
+ * Límite de sentencias SQL para tests de servicios o de MockMvc (la request se procesa en el mismo
+ * hilo y lo que cuenta {@link com.taskflow.config.SqlStatementCountFilter} también suma aquí).
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Falla con AssertionError (incluyendo las consultas más repetidas) si la acción ejecuta más de max sentencias.
+     */
+    public static SqlStatementCounter.Stats assertAtMost(int max, Action action) throws Exception {
+        SqlStatementCounter.Stats previous = SqlStatementCounter.begin();
+        SqlStatementCounter.Stats stats;
+        try {
+            action.run();
+        } finally {
+            stats = SqlStatementCounter.end(previous);
+        }
+        if (stats.getCount() > max) {
+            throw new AssertionError("Se esperaban como mucho " + max + " sentencias SQL y se ejecutaron "
+                    + stats.getCount() + ": " + stats.topShapes(10));
+        }
+        return stats;
+    }
+}
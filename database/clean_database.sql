@@ -8,7 +8,8 @@
 -- Desactivar temporalmente las restricciones de FK
 SET session_replication_role = 'replica';
 
--- 1. Eliminar todos los registros de tiempo
+-- 1. Eliminar todos los registros de tiempo y sus acumulados
+DELETE FROM time_rollups;
 DELETE FROM time_logs;
 SELECT 'Registros de tiempo eliminados' as status;
 
@@ -29,7 +30,8 @@ SET session_replication_role = 'origin';
 
 -- Reiniciar las secuencias (opcional, para que los IDs empiecen desde 1)
 ALTER SEQUENCE IF EXISTS time_logs_id_seq RESTART WITH 1;
-ALTER SEQUENCE IF EXISTS tasks_id_seq RESTART WITH 1;
+ALTER SEQUENCE IF EXISTS time_rollups_id_seq RESTART WITH 1;
+ALTER SEQUENCE IF EXISTS task_seq RESTART WITH 1;
 ALTER SEQUENCE IF EXISTS users_id_seq RESTART WITH 1;
 ALTER SEQUENCE IF EXISTS departments_id_seq RESTART WITH 1;
 
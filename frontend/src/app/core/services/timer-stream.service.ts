@@ -0,0 +1,52 @@
+import { Injectable, NgZone, inject } from '@angular/core';
+import { Observable } from 'rxjs';
+import { environment } from '../../../environments/environment';
+
+export type TimerEventType = 'started' | 'stopped' | 'cancelled' | 'force-stopped';
+
+export interface TimerEvent {
+  type: TimerEventType;
+  timeLogId: number;
+  taskId: number | null;
+  taskTitle: string | null;
+  startTime: any;
+  endTime: any;
+  durationMinutes: number | null;
+}
+
+const EVENT_TYPES: TimerEventType[] = ['started', 'stopped', 'cancelled', 'force-stopped'];
+
+/**
+ * Eventos del contador de tiempo del usuario (Server-Sent Events).
+ * Sustituye al polling de /time-logs/active: el servidor avisa de cada cambio.
+ * EventSource reconecta solo cuando el servidor cierra la conexión.
+ */
+@Injectable({
+  providedIn: 'root'
+})
+export class TimerStreamService {
+  private zone = inject(NgZone);
+
+  /**
+   * Abre la conexión al suscribirse y la cierra al cancelar la suscripción.
+   */
+  events(): Observable<TimerEvent> {
+    return new Observable<TimerEvent>(subscriber => {
+      const token = localStorage.getItem('token');
+      if (!token) {
+        subscriber.complete();
+        return;
+      }
+
+      const source = new EventSource(
+        `${environment.apiUrl}/time-logs/stream?access_token=${encodeURIComponent(token)}`
+      );
+      const handler = (e: MessageEvent) => {
+        this.zone.run(() => subscriber.next(JSON.parse(e.data)));
+      };
+      EVENT_TYPES.forEach(type => source.addEventListener(type, handler as EventListener));
+
+      return () => source.close();
+    });
+  }
+}
@@ -386,7 +386,7 @@ export class AdminDashboardComponent implements OnInit {
     });
 
     // Cargar departamentos
-    this.http.get<any[]>(`${environment.apiUrl}/departments`).subscribe({
+    this.http.get<any[]>(`${environment.apiUrl}/departments`, { params: { include: 'counts' } }).subscribe({
       next: (depts) => {
         stats.totalDepartments = depts.length;
         this.stats.set({ ...stats });
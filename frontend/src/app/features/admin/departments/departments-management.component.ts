@@ -544,7 +544,7 @@ export class DepartmentsManagementComponent implements OnInit {
 
   loadDepartments() {
     this.loading.set(true);
-    this.http.get<any[]>(`${environment.apiUrl}/departments`)
+    this.http.get<any[]>(`${environment.apiUrl}/departments`, { params: { include: 'counts' } })
       .subscribe({
         next: (data) => {
           const departments = data.map(d => ({
@@ -20,6 +20,7 @@ interface DepartmentReport {
   totalUsers: number;
   totalHours: number;
   tasksCompleted: number;
+  tasksInProgress: number;
   avgHoursPerUser: number;
 }
 
@@ -33,6 +34,12 @@ interface TaskReport {
   priority: string;
 }
 
+interface ReportsResponse {
+  users: UserReport[];
+  departments: DepartmentReport[];
+  tasks: TaskReport[];
+}
+
 /**
  * Reportes para Admin.
  * Ver horas por usuario, departamento, tarea.
@@ -723,82 +730,19 @@ export class AdminReportsComponent implements OnInit {
   }
 
   loadReports() {
-    this.loadUserReports();
-    this.loadDepartmentReports();
-    this.loadTaskReports();
-  }
+    // Los tres reportes se agregan en el servidor para el rango seleccionado
+    const params: Record<string, string> = {};
+    if (this.dateFrom) params['from'] = this.dateFrom;
+    if (this.dateTo) params['to'] = this.dateTo;
 
-  loadUserReports() {
-    // Cargar usuarios y sus estadísticas desde los endpoints reales
-    this.http.get<any[]>(`${environment.apiUrl}/users`).subscribe({
-      next: (users) => {
-        const userReports = users
-          .filter(u => u.role !== 'ADMIN')
-          .map(u => ({
-            userId: u.id,
-            userName: `${u.firstName} ${u.lastName}`,
-            department: u.department?.name || 'Sin departamento',
-            totalHours: u.totalHoursWorked || 0,
-            tasksCompleted: u.tasksCompleted || 0,
-            tasksInProgress: u.tasksInProgress || 0
-          }));
-        this.userReports.set(userReports);
-      },
-      error: (err) => {
-        console.error('Error al cargar reportes de usuarios:', err);
-      }
-    });
-  }
-
-  loadDepartmentReports() {
-    this.http.get<any[]>(`${environment.apiUrl}/departments/stats`).subscribe({
+    this.http.get<ReportsResponse>(`${environment.apiUrl}/reports`, { params }).subscribe({
       next: (data) => {
-        const deptReports = data.map(d => ({
-          departmentId: d.id,
-          departmentName: d.name,
-          totalUsers: d.usersCount || 0,
-          totalHours: d.totalHours || 0,
-          tasksCompleted: d.tasksCompleted || 0,
-          avgHoursPerUser: d.usersCount ? Math.round((d.totalHours || 0) / d.usersCount * 10) / 10 : 0
-        }));
-        this.departmentReports.set(deptReports);
-      },
-      error: (err) => {
-        console.error('Error al cargar reportes de departamentos:', err);
-        // Fallback: cargar departamentos básicos
-        this.http.get<any[]>(`${environment.apiUrl}/departments`).subscribe({
-          next: (depts) => {
-            const deptReports = depts.map(d => ({
-              departmentId: d.id,
-              departmentName: d.name,
-              totalUsers: d.usersCount || 0,
-              totalHours: 0,
-              tasksCompleted: 0,
-              avgHoursPerUser: 0
-            }));
-            this.departmentReports.set(deptReports);
-          }
-        });
-      }
-    });
-  }
-
-  loadTaskReports() {
-    this.http.get<any[]>(`${environment.apiUrl}/tasks`).subscribe({
-      next: (tasks) => {
-        const taskReports = tasks.map(t => ({
-          taskId: t.id,
-          taskTitle: t.title,
-          assignee: t.assignee ? `${t.assignee.firstName} ${t.assignee.lastName}` : 'Sin asignar',
-          department: t.department?.name || 'Sin departamento',
-          status: t.status,
-          totalHours: t.totalTimeLogged || 0,
-          priority: t.priority
-        }));
-        this.taskReports.set(taskReports);
+        this.userReports.set(data.users);
+        this.departmentReports.set(data.departments);
+        this.taskReports.set(data.tasks);
       },
       error: (err) => {
-        console.error('Error al cargar reportes de tareas:', err);
+        console.error('Error al cargar reportes:', err);
       }
     });
   }
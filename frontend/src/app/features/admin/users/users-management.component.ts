@@ -591,7 +591,7 @@ export class UsersManagementComponent implements OnInit {
   }
 
   loadDepartments() {
-    this.http.get<Department[]>(`${environment.apiUrl}/departments`)
+    this.http.get<Department[]>(`${environment.apiUrl}/departments`, { params: { include: 'counts' } })
       .subscribe({
         next: (data) => this.departments.set(data),
         error: (err) => {
@@ -1,9 +1,11 @@
-import { Component, OnInit, inject, signal, computed } from '@angular/core';
+import { Component, OnInit, OnDestroy, inject, signal, computed } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { RouterLink } from '@angular/router';
 import { HttpClient } from '@angular/common/http';
+import { Subscription } from 'rxjs';
 import { environment } from '../../../../environments/environment';
 import { AuthService } from '../../../core/services/auth.service';
+import { TimerStreamService } from '../../../core/services/timer-stream.service';
 import { LayoutComponent } from '../../../shared/components/layout/layout.component';
 
 interface MyTask {
@@ -564,9 +566,11 @@ interface DashboardStats {
     }
   `]
 })
-export class EmployeeDashboardComponent implements OnInit {
+export class EmployeeDashboardComponent implements OnInit, OnDestroy {
   private http = inject(HttpClient);
   private auth = inject(AuthService);
+  private timerStream = inject(TimerStreamService);
+  private timerEvents?: Subscription;
   
   today = new Date();
   
@@ -590,6 +594,11 @@ export class EmployeeDashboardComponent implements OnInit {
   ngOnInit() {
     this.checkBackendActiveSession();
     this.loadDashboard();
+    this.timerEvents = this.timerStream.events().subscribe(() => this.checkBackendActiveSession());
+  }
+
+  ngOnDestroy() {
+    this.timerEvents?.unsubscribe();
   }
   /**
    * Consulta al backend si hay una tarea activa o pausada y actualiza el banner
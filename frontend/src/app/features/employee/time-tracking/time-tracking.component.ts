@@ -2,8 +2,10 @@ import { Component, OnInit, OnDestroy, inject, signal, computed } from '@angular
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { HttpClient } from '@angular/common/http';
+import { Subscription } from 'rxjs';
 import { environment } from '../../../../environments/environment';
 import { LayoutComponent } from '../../../shared/components/layout/layout.component';
+import { TimerStreamService } from '../../../core/services/timer-stream.service';
 
 interface TaskForTracking {
   id: number;
@@ -716,6 +718,8 @@ interface TimeEntry {
 })
 export class TimeTrackingComponent implements OnInit, OnDestroy {
   private http = inject(HttpClient);
+  private timerStream = inject(TimerStreamService);
+  private timerEvents?: Subscription;
   
   availableTasks = signal<TaskForTracking[]>([]);
   activeTask = signal<TaskForTracking | null>(null);
@@ -735,6 +739,11 @@ export class TimeTrackingComponent implements OnInit, OnDestroy {
     this.checkBackendActiveSession();
     this.loadTasks();
     this.loadTodayEntries();
+    // Resincronizar solo cuando el servidor avisa de un cambio (otra pestaña, force-stop, etc.)
+    this.timerEvents = this.timerStream.events().subscribe(() => {
+      this.checkBackendActiveSession();
+      this.loadTodayEntries();
+    });
   }
   /**
    * Consulta al backend si hay una tarea activa o pausada
@@ -769,6 +778,7 @@ export class TimeTrackingComponent implements OnInit, OnDestroy {
 
   ngOnDestroy() {
     this.clearTimer();
+    this.timerEvents?.unsubscribe();
   }
 
   loadTasks() {
@@ -15,6 +15,6 @@ echo Iniciando Spring Boot...
 echo (Presiona Ctrl+C para detener)
 echo.
 
-call "%MAVEN_HOME%\bin\mvn.cmd" spring-boot:run
+call "%MAVEN_HOME%\bin\mvn.cmd" spring-boot:run -Dspring-boot.run.profiles=dev
 
 pause